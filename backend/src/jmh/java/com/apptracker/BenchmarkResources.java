@@ -0,0 +1,30 @@
+package com.apptracker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the saved benchmark inputs under src/jmh/resources
+ */
+public final class BenchmarkResources {
+
+    private BenchmarkResources() {
+    }
+
+    public static byte[] bytes(String path) {
+        try (InputStream in = BenchmarkResources.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing benchmark resource: " + path);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String text(String path) {
+        return new String(bytes(path), StandardCharsets.UTF_8);
+    }
+}
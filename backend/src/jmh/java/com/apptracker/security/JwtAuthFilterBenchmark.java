@@ -0,0 +1,111 @@
+package com.apptracker.security;
+
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthFilter on a request carrying a bearer token, with the verified-token
+ * cache hit and with full signature verification. Tokens without an expiry
+ * are never cached, which gives the uncached path through the same code.
+ * The contended variants show whether cache hits scale across threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({ "cached", "uncached" })
+    public String mode;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "cacheSize", 10_000);
+        jwtUtil.init();
+        filter = new JwtAuthFilter(jwtUtil);
+
+        String token;
+        if (mode.equals("cached")) {
+            token = jwtUtil.generateToken(UUID.randomUUID());
+        } else {
+            SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+            token = Jwts.builder()
+                    .setSubject(UUID.randomUUID().toString())
+                    .setIssuedAt(Date.from(Instant.now()))
+                    .signWith(key)
+                    .compact();
+        }
+        authorization = "Bearer " + token;
+    }
+
+    /**
+     * One request per thread; the filter only reads it
+     */
+    @State(Scope.Thread)
+    public static class Exchange {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(JwtAuthFilterBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/apps");
+            request.addHeader(HttpHeaders.AUTHORIZATION, benchmark.authorization);
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public Object filter(Exchange exchange) throws Exception {
+        return authenticate(exchange);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object filterContended(Exchange exchange) throws Exception {
+        return authenticate(exchange);
+    }
+
+    private Object authenticate(Exchange exchange) throws Exception {
+        filter.doFilterInternal(exchange.request, exchange.response, NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,199 @@
+package com.apptracker.service;
+
+import com.apptracker.BenchmarkResources;
+import com.apptracker.dto.OpenJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses a saved copy of the internships README table with
+ * ScheduledTaskService, both from scratch and with every row unchanged since
+ * the previous parse, and with the per-call regex clean-up it replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InternshipsReadmeBenchmark {
+
+    private String readme;
+    private ScheduledTaskService warmService;
+
+    @Setup
+    public void setUp() {
+        readme = BenchmarkResources.text("benchmark/internships-readme.md");
+        warmService = newService();
+        warmService.parseMarkdownTable(readme);
+    }
+
+    /** A service with no rows from an earlier parse */
+    @State(Scope.Thread)
+    public static class ColdService {
+        ScheduledTaskService service;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            service = newService();
+        }
+    }
+
+    @Benchmark
+    public List<OpenJob> textNormalizerCold(ColdService cold) {
+        return cold.service.parseMarkdownTable(readme);
+    }
+
+    @Benchmark
+    public List<OpenJob> textNormalizerUnchanged() {
+        return warmService.parseMarkdownTable(readme);
+    }
+
+    @Benchmark
+    public List<OpenJob> regexChain() {
+        return legacyParseMarkdownTable(readme);
+    }
+
+    private static ScheduledTaskService newService() {
+        return new ScheduledTaskService(null, null, null, new SimpleMeterRegistry(), null);
+    }
+
+    /**
+     * The table parsing before TextNormalizer: String.replaceAll and
+     * String.matches compile their pattern on every call, and the link
+     * patterns and month map were rebuilt per parse or per row
+     */
+    private static List<OpenJob> legacyParseMarkdownTable(String markdown) {
+        List<OpenJob> applications = new ArrayList<>();
+
+        String[] lines = markdown.split("\n");
+
+        Pattern markdownLinkPattern = Pattern.compile("\\[([^\\]]+)\\]\\(([^\\)]+)\\)");
+        Pattern htmlLinkPattern = Pattern.compile("<a\\s+href=[\"']([^\"']+)[\"']");
+
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            if (line.startsWith("|") && !line.contains("---")) {
+                if (line.toLowerCase().contains("company") || line.toLowerCase().contains("role")) {
+                    continue;
+                }
+
+                String[] cells = line.split("\\|");
+
+                if (cells.length >= 6) {
+                    OpenJob app = new OpenJob();
+
+                    String companyName = cells[1].trim()
+                            .replaceAll("<[^>]*>", "")
+                            .replaceAll("[↳🔽⬇️➡️⏩]", "")
+                            .trim();
+                    app.setCompany(companyName);
+
+                    app.setRole(cells[2].trim());
+
+                    String location = cells[3].trim()
+                            .replaceAll("(?i)<br\\s*/?>", ", ")
+                            .replaceAll("<[^>]*>", "")
+                            .replaceAll("\\s*,\\s*,\\s*", ", ")
+                            .replaceAll("^,\\s*|\\s*,$", "")
+                            .trim();
+                    app.setLocation(location);
+
+                    String linkCell = cells[4];
+                    String jobUrl = null;
+                    Matcher htmlMatcher = htmlLinkPattern.matcher(linkCell);
+                    if (htmlMatcher.find()) {
+                        jobUrl = htmlMatcher.group(1).trim();
+                    } else {
+                        Matcher markdownMatcher = markdownLinkPattern.matcher(linkCell);
+                        if (markdownMatcher.find()) {
+                            jobUrl = markdownMatcher.group(2).trim();
+                        }
+                    }
+                    if (jobUrl != null && !jobUrl.isEmpty()) {
+                        app.setJobUrl(jobUrl);
+                    }
+
+                    String dateCell = cells[5].trim();
+                    try {
+                        String[] dateParts = dateCell.split("\\s+");
+                        if (dateParts.length >= 2) {
+                            Map<String, Integer> monthMap = Map.ofEntries(
+                                    Map.entry("Jan", 1), Map.entry("Feb", 2), Map.entry("Mar", 3),
+                                    Map.entry("Apr", 4), Map.entry("May", 5), Map.entry("Jun", 6),
+                                    Map.entry("Jul", 7), Map.entry("Aug", 8), Map.entry("Sep", 9),
+                                    Map.entry("Oct", 10), Map.entry("Nov", 11), Map.entry("Dec", 12));
+
+                            Integer month = monthMap.get(dateParts[0]);
+                            if (month != null) {
+                                int day = Integer.parseInt(dateParts[1]);
+                                int currentYear = OffsetDateTime.now().getYear();
+                                int currentMonth = OffsetDateTime.now().getMonthValue();
+                                int year = month > currentMonth ? currentYear - 1 : currentYear;
+
+                                app.setDatePosted(OffsetDateTime.now()
+                                        .withYear(year)
+                                        .withMonth(month)
+                                        .withDayOfMonth(day)
+                                        .withHour(0).withMinute(0).withSecond(0).withNano(0));
+                            }
+                        }
+                    } catch (NumberFormatException | java.time.DateTimeException e) {
+                        // Row kept without a date, as before
+                    }
+
+                    if (app.getCompany() != null && app.getCompany().length() > 1
+                            && app.getRole() != null && app.getRole().length() > 2
+                            && app.getJobUrl() != null && !app.getJobUrl().isEmpty()
+                            && !app.getCompany().matches("[^a-zA-Z0-9\\s]+")
+                            && (app.getLocation() == null || legacyIsValidLocation(app.getLocation()))) {
+                        applications.add(app);
+                    }
+                }
+            }
+        }
+
+        return applications;
+    }
+
+    private static boolean legacyIsValidLocation(String location) {
+        if (location == null || location.isEmpty()) {
+            return true;
+        }
+        if (location.contains("**") || location.contains("__")) {
+            return false;
+        }
+        if (location.matches(".*<[^>]+>.*")) {
+            return false;
+        }
+        long specialCharCount = location.chars()
+                .filter(c -> !Character.isLetterOrDigit(c) && c != ' ' && c != ',')
+                .count();
+        if ((double) specialCharCount / location.length() > 0.3) {
+            return false;
+        }
+        return !location.matches("^\\d+\\s*locations.*");
+    }
+}
@@ -0,0 +1,100 @@
+package com.apptracker.service;
+
+import com.apptracker.BenchmarkResources;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts what the import strategies read from saved job board pages, with
+ * the single-pass PageIndex and with the per-strategy doc.select() calls and
+ * per-script ObjectMapper it replaced. The pages under benchmark/pages follow
+ * the markup of each board: where the JSON-LD sits decides how much of the
+ * page PageIndex can skip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageIndexBenchmark {
+
+    private static final String[] META_KEYS = { "og:title", "og:site_name", "og:description", "twitter:title" };
+    private static final String[] SELECTORS = { ".company-name", ".employer-name", "[data-company]",
+            ".topcard__org-name", ".location", ".job-location", "[data-location]", ".topcard__flavor--bullet" };
+
+    @Param({ "greenhouse", "lever", "workday", "linkedin", "company-careers" })
+    public String page;
+
+    private byte[] html;
+    private String baseUri;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        html = BenchmarkResources.bytes("benchmark/pages/" + page + ".html");
+        baseUri = "https://jobs.example.com/" + page;
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public void pageIndex(Blackhole blackhole) throws IOException {
+        PageIndex index = PageIndex.parse(
+                new InputStreamReader(new ByteArrayInputStream(html), StandardCharsets.UTF_8), baseUri, true);
+        for (String json : index.jsonLdBlocks()) {
+            blackhole.consume(objectMapper.readTree(json));
+        }
+        for (String key : META_KEYS) {
+            blackhole.consume(index.meta(key));
+        }
+        blackhole.consume(index.title());
+        blackhole.consume(index.firstH1Text());
+        blackhole.consume(index.candidateText(PageIndex.Candidate.Kind.COMPANY));
+        blackhole.consume(index.candidateText(PageIndex.Candidate.Kind.LOCATION));
+    }
+
+    @Benchmark
+    public void multiSelect(Blackhole blackhole) throws IOException {
+        Document doc = Jsoup.parse(new ByteArrayInputStream(html), "UTF-8", baseUri);
+        for (Element script : doc.select("script[type='application/ld+json']")) {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode root = mapper.readTree(script.html());
+            blackhole.consume(root);
+        }
+        for (String key : META_KEYS) {
+            Element element = doc.select("meta[property=" + key + "]").first();
+            if (element == null) {
+                element = doc.select("meta[name=" + key + "]").first();
+            }
+            blackhole.consume(element != null ? element.attr("content") : null);
+        }
+        blackhole.consume(doc.title());
+        Element h1 = doc.select("h1").first();
+        blackhole.consume(h1 != null ? h1.text() : null);
+        for (String selector : SELECTORS) {
+            Element element = doc.select(selector).first();
+            blackhole.consume(element != null ? element.text() : null);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.apptracker.util;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the date_applied column of a 100k-row synthetic CSV with
+ * FlexibleDateParser (look-ahead over the first rows, then every row) and with the
+ * per-row formatter chain it replaced, which built eight formatters per call
+ * and used exceptions to move on to the next one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvDateParsingBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int SAMPLE_ROWS = 100;
+
+    /** Later formats cost the old chain more failed attempts per row */
+    @Param({ "iso-date", "iso-date-time", "day-first" })
+    public String format;
+
+    private String[] dates;
+
+    @Setup
+    public void setUp() throws IOException {
+        String csv = syntheticCsv(format);
+        List<String> column = new ArrayList<>(ROWS);
+        try (CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).get()
+                .parse(new StringReader(csv))) {
+            for (CSVRecord record : parser) {
+                column.add(record.get("date_applied"));
+            }
+        }
+        dates = column.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void flexibleDateParser(Blackhole blackhole) {
+        // Same look-ahead as CsvImportService: the first rows, up to a decisive
+        // slash date or a date without a slash
+        FlexibleDateParser parser = new FlexibleDateParser();
+        for (int i = 0; i < SAMPLE_ROWS && i < dates.length; i++) {
+            if (dates[i].indexOf('/') < 0 || parser.observe(dates[i])) {
+                break;
+            }
+        }
+        for (String date : dates) {
+            blackhole.consume(parser.parse(date));
+        }
+    }
+
+    @Benchmark
+    public void formatterChain(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(legacyParseDate(date));
+        }
+    }
+
+    private static String syntheticCsv(String format) {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        StringBuilder csv = new StringBuilder("company,role,location,date_applied,status,priority\n");
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate date = start.plusDays(random.nextInt(730));
+            String value = switch (format) {
+                case "iso-date" -> date.toString();
+                case "iso-date-time" -> date.atTime(random.nextInt(24), random.nextInt(60)) + ":00";
+                default -> String.format("%02d/%02d/%d", date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+            };
+            csv.append("Company ").append(i % 500).append(",Software Engineer Intern,Remote,")
+                    .append(value).append(",APPLIED,MEDIUM\n");
+        }
+        return csv.toString();
+    }
+
+    private static OffsetDateTime legacyParseDate(String dateStr) {
+        DateTimeFormatter[] formatters = {
+                DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+                DateTimeFormatter.ISO_LOCAL_DATE,
+                DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+                DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+                DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+                DateTimeFormatter.ofPattern("M/d/yyyy"),
+                DateTimeFormatter.ofPattern("d/M/yyyy")
+        };
+
+        for (DateTimeFormatter formatter : formatters) {
+            try {
+                if (formatter.toString().contains("DATE_TIME")) {
+                    return OffsetDateTime.parse(dateStr, formatter);
+                } else {
+                    LocalDate localDate = LocalDate.parse(dateStr, formatter);
+                    return localDate.atStartOfDay().atOffset(ZoneOffset.UTC);
+                }
+            } catch (DateTimeParseException e) {
+                // Try next formatter
+            }
+        }
+
+        // If all else fails, use current date
+        return OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,61 @@
+package com.apptracker.util;
+
+import com.apptracker.BenchmarkResources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the reminder email with HtmlTemplate and with the per-call
+ * String.format over the same text block that it replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HtmlTemplateBenchmark {
+
+    private static final String[] SLOTS = { "userName", "company", "role", "status", "message", "dueAt" };
+
+    private String formatSource;
+    private HtmlTemplate template;
+    private Object[] values;
+
+    @Setup
+    public void setUp() {
+        String source = BenchmarkResources.text("benchmark/reminder-email.html");
+        template = HtmlTemplate.compile(source, SLOTS);
+
+        String format = source;
+        for (String slot : SLOTS) {
+            format = format.replace("{{" + slot + "}}", "%s");
+        }
+        formatSource = format;
+
+        values = new Object[] { "Jordan Lee", "Acme & Co", "Software Engineer <Intern>", "INTERVIEW",
+                "Send a thank-you note to the panel", OffsetDateTime.parse("2026-03-14T15:00:00Z") };
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(formatSource, values[0], values[1], values[2], values[3], values[4],
+                values[5].toString());
+    }
+
+    @Benchmark
+    public String htmlTemplate() {
+        return template.render(values);
+    }
+}
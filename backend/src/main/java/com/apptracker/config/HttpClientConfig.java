@@ -0,0 +1,28 @@
+package com.apptracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * One HttpClient for all outbound HTTP, so connections are pooled and kept
+ * alive (and multiplexed over HTTP/2 where the server supports it) across
+ * requests
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${app.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Bean
+    public HttpClient httpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
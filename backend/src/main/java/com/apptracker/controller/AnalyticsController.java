@@ -22,8 +22,9 @@ public class AnalyticsController {
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAnalytics(@AuthenticationPrincipal UUID userId) {
-        return ResponseEntity.ok(analyticsService.getAnalytics(userId));
+    public ResponseEntity<Map<String, Object>> getAnalytics(@AuthenticationPrincipal UUID userId,
+            @RequestParam(defaultValue = "" + AnalyticsService.DEFAULT_WEEKS) int weeks) {
+        return ResponseEntity.ok(analyticsService.getAnalytics(userId, weeks));
     }
 
 }
@@ -30,6 +30,7 @@ public class ApplicationController {
     private final ReminderService reminderService;
     private final AttachmentService attachmentService;
     private final ActivityService activityService;
+    private final ApplicationDetailService applicationDetailService;
 
     public ApplicationController(ApplicationService applicationService,
             NoteService noteService,
@@ -37,7 +38,8 @@ public class ApplicationController {
             ReminderService reminderService,
             AttachmentService attachmentService,
             ActivityService activityService,
-            ImportService importService) {
+            ImportService importService,
+            ApplicationDetailService applicationDetailService) {
         this.applicationService = applicationService;
         this.noteService = noteService;
         this.contactService = contactService;
@@ -45,6 +47,7 @@ public class ApplicationController {
         this.attachmentService = attachmentService;
         this.activityService = activityService;
         this.importService = importService;
+        this.applicationDetailService = applicationDetailService;
     }
 
     @GetMapping
@@ -55,10 +58,34 @@ public class ApplicationController {
             @RequestParam(required = false) OffsetDateTime from,
             @RequestParam(required = false) OffsetDateTime to,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean instant) {
 
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<ApplicationDTO> apps = applicationService.getApplications(userId, status, q, from, to, pageRequest);
+        // instant=true serves as-you-type filtering from memory: prefix matches on
+        // company, role and location, newest first, without ranking
+        Page<ApplicationDTO> apps = instant
+                ? applicationService.getApplicationsFromIndex(userId, status, q, from, to, pageRequest)
+                : applicationService.getApplications(userId, status, q, from, to, pageRequest);
+        return ResponseEntity.ok(apps);
+    }
+
+    /**
+     * Cursor mode of GET /api/apps, selected by passing a cursor parameter (empty
+     * for the first page). Returns nextCursor instead of page counts.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ApplicationDTO>> getApplicationsByCursor(
+            @AuthenticationPrincipal UUID userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) OffsetDateTime from,
+            @RequestParam(required = false) OffsetDateTime to,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<ApplicationDTO> apps = applicationService.getApplicationsAfter(userId, status, q, from, to,
+                cursor, size);
         return ResponseEntity.ok(apps);
     }
 
@@ -93,6 +120,15 @@ public class ApplicationController {
         return ResponseEntity.ok(app);
     }
 
+    @GetMapping("/{id}/full")
+    public ResponseEntity<ApplicationDetailDTO> getApplicationDetail(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID id) {
+
+        ApplicationDetailDTO detail = applicationDetailService.getApplicationDetail(userId, id);
+        return ResponseEntity.ok(detail);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApplicationDTO> updateApplication(
             @AuthenticationPrincipal UUID userId,
@@ -266,4 +302,13 @@ public class ApplicationController {
         ImportResponse result = importService.importApplication(userId, request);
         return ResponseEntity.ok(result);
     }
+
+    @PostMapping("/import/batch")
+    public ResponseEntity<List<ImportResponse>> importApplications(
+            @AuthenticationPrincipal UUID userId,
+            @RequestBody BatchImportRequest request) {
+
+        List<ImportResponse> results = importService.importApplications(userId, request.getUrls());
+        return ResponseEntity.ok(results);
+    }
 }
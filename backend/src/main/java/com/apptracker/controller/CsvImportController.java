@@ -1,13 +1,19 @@
 package com.apptracker.controller;
 
+import com.apptracker.dto.CsvImportJobStatus;
 import com.apptracker.dto.CsvImportResult;
 import com.apptracker.security.JwtUtil;
+import com.apptracker.service.CsvImportJobService;
 import com.apptracker.service.CsvImportService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -16,11 +22,17 @@ import java.util.UUID;
 @RequestMapping("/api/applications/import")
 public class CsvImportController {
 
+    private static final long MAX_SYNC_FILE_SIZE = 5 * 1024 * 1024;
+    private static final long MAX_JOB_FILE_SIZE = 50 * 1024 * 1024;
+
     private final CsvImportService csvImportService;
+    private final CsvImportJobService csvImportJobService;
     private final JwtUtil jwtUtil;
 
-    public CsvImportController(CsvImportService csvImportService, JwtUtil jwtUtil) {
+    public CsvImportController(CsvImportService csvImportService, CsvImportJobService csvImportJobService,
+            JwtUtil jwtUtil) {
         this.csvImportService = csvImportService;
+        this.csvImportJobService = csvImportJobService;
         this.jwtUtil = jwtUtil;
     }
 
@@ -30,22 +42,9 @@ public class CsvImportController {
             @RequestParam("file") MultipartFile file) {
 
         try {
-            // Validate file
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "File is empty"));
-            }
-
-            // Check file type
-            String filename = file.getOriginalFilename();
-            if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "Only CSV files are supported"));
-            }
-
-            // Check file size (max 5MB)
-            if (file.getSize() > 5 * 1024 * 1024) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "File size exceeds 5MB limit"));
+            String uploadError = validateUpload(file, MAX_SYNC_FILE_SIZE);
+            if (uploadError != null) {
+                return ResponseEntity.badRequest().body(Map.of("error", uploadError));
             }
 
             // Get user ID from token
@@ -60,7 +59,6 @@ public class CsvImportController {
             response.put("successCount", result.getSuccessCount());
             response.put("errorCount", result.getErrorCount());
             response.put("totalProcessed", result.getTotalProcessed());
-            response.put("applications", result.getSuccessfulImports());
             response.put("errors", result.getErrors());
 
             if (result.getErrorCount() > 0 && result.getSuccessCount() == 0) {
@@ -77,4 +75,53 @@ public class CsvImportController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+
+    /**
+     * Starts a background import and returns its job id at once. Progress is
+     * available from GET /csv/jobs/{jobId} or as Server-Sent Events from
+     * GET /csv/jobs/{jobId}/events.
+     */
+    @PostMapping("/csv/jobs")
+    public ResponseEntity<?> startImportJob(
+            @AuthenticationPrincipal UUID userId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+
+        String uploadError = validateUpload(file, MAX_JOB_FILE_SIZE);
+        if (uploadError != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", uploadError));
+        }
+
+        CsvImportJobStatus status = csvImportJobService.submit(userId, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    @GetMapping("/csv/jobs/{jobId}")
+    public ResponseEntity<CsvImportJobStatus> getImportJob(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID jobId) {
+        return ResponseEntity.ok(csvImportJobService.getStatus(userId, jobId));
+    }
+
+    @GetMapping(value = "/csv/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamImportJob(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID jobId) {
+        return csvImportJobService.subscribe(userId, jobId);
+    }
+
+    private String validateUpload(MultipartFile file, long maxSize) {
+        if (file.isEmpty()) {
+            return "File is empty";
+        }
+
+        String filename = file.getOriginalFilename();
+        if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
+            return "Only CSV files are supported";
+        }
+
+        if (file.getSize() > maxSize) {
+            return "File size exceeds " + (maxSize / (1024 * 1024)) + "MB limit";
+        }
+        return null;
+    }
 }
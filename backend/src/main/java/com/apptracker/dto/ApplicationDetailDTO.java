@@ -0,0 +1,84 @@
+package com.apptracker.dto;
+
+import com.apptracker.model.Activity;
+import com.apptracker.model.Attachment;
+import com.apptracker.model.Contact;
+import com.apptracker.model.Note;
+import com.apptracker.model.Reminder;
+
+import java.util.List;
+
+/**
+ * An application together with all of its child resources, as returned by
+ * GET /api/apps/{id}/full
+ */
+public class ApplicationDetailDTO {
+    private ApplicationDTO application;
+    private List<Note> notes;
+    private List<Contact> contacts;
+    private List<Reminder> reminders;
+    private List<Attachment> attachments;
+    private List<Activity> activity;
+
+    public ApplicationDetailDTO() {
+    }
+
+    public ApplicationDetailDTO(ApplicationDTO application, List<Note> notes, List<Contact> contacts,
+            List<Reminder> reminders, List<Attachment> attachments, List<Activity> activity) {
+        this.application = application;
+        this.notes = notes;
+        this.contacts = contacts;
+        this.reminders = reminders;
+        this.attachments = attachments;
+        this.activity = activity;
+    }
+
+    // Getters and Setters
+    public ApplicationDTO getApplication() {
+        return application;
+    }
+
+    public void setApplication(ApplicationDTO application) {
+        this.application = application;
+    }
+
+    public List<Note> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<Note> notes) {
+        this.notes = notes;
+    }
+
+    public List<Contact> getContacts() {
+        return contacts;
+    }
+
+    public void setContacts(List<Contact> contacts) {
+        this.contacts = contacts;
+    }
+
+    public List<Reminder> getReminders() {
+        return reminders;
+    }
+
+    public void setReminders(List<Reminder> reminders) {
+        this.reminders = reminders;
+    }
+
+    public List<Attachment> getAttachments() {
+        return attachments;
+    }
+
+    public void setAttachments(List<Attachment> attachments) {
+        this.attachments = attachments;
+    }
+
+    public List<Activity> getActivity() {
+        return activity;
+    }
+
+    public void setActivity(List<Activity> activity) {
+        this.activity = activity;
+    }
+}
@@ -0,0 +1,17 @@
+package com.apptracker.dto;
+
+import java.util.List;
+
+public class BatchImportRequest {
+    private List<String> urls;
+
+    // Getters and Setters
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+}
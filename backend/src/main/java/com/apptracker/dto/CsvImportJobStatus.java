@@ -0,0 +1,77 @@
+package com.apptracker.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of an asynchronous CSV import, as returned by polling and sent as
+ * Server-Sent Events
+ */
+public class CsvImportJobStatus {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private UUID jobId;
+    private State state;
+    private int successCount;
+    private int errorCount;
+    private int totalProcessed;
+    private List<ImportError> errors;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime finishedAt;
+
+    public CsvImportJobStatus(UUID jobId, State state, CsvImportResult result,
+            OffsetDateTime createdAt, OffsetDateTime finishedAt) {
+        this.jobId = jobId;
+        this.state = state;
+        synchronized (result) {
+            this.successCount = result.getSuccessCount();
+            this.errorCount = result.getErrorCount();
+            this.totalProcessed = result.getTotalProcessed();
+            this.errors = result.getErrors();
+        }
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isDone() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public int getTotalProcessed() {
+        return totalProcessed;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -3,37 +3,44 @@ package com.apptracker.dto;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Running totals of a CSV import. Only counts and row errors are kept, so a
+ * large import doesn't hold every created application in memory. Safe to read
+ * while the import is still writing to it.
+ */
 public class CsvImportResult {
-    // Result class
-    private List<ApplicationDTO> successfulImports = new ArrayList<>();
-    private List<ImportError> errors = new ArrayList<>();
+    /** Errors kept for the response; any beyond this are only counted */
+    public static final int MAX_REPORTED_ERRORS = 1000;
 
-    public void addSuccess(ApplicationDTO app) {
-        successfulImports.add(app);
-    }
+    private int successCount;
+    private int errorCount;
+    private final List<ImportError> errors = new ArrayList<>();
 
-    public void addError(int rowNumber, String message) {
-        errors.add(new ImportError(rowNumber, message));
+    public synchronized void addSuccesses(int count) {
+        successCount += count;
     }
 
-    public List<ApplicationDTO> getSuccessfulImports() {
-        return successfulImports;
+    public synchronized void addError(int rowNumber, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportError(rowNumber, message));
+        }
     }
 
-    public List<ImportError> getErrors() {
-        return errors;
+    public synchronized List<ImportError> getErrors() {
+        return new ArrayList<>(errors);
     }
 
-    public int getSuccessCount() {
-        return successfulImports.size();
+    public synchronized int getSuccessCount() {
+        return successCount;
     }
 
-    public int getErrorCount() {
-        return errors.size();
+    public synchronized int getErrorCount() {
+        return errorCount;
     }
 
-    public int getTotalProcessed() {
-        return successfulImports.size() + errors.size();
+    public synchronized int getTotalProcessed() {
+        return successCount + errorCount;
     }
 
 }
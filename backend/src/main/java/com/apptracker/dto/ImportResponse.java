@@ -18,6 +18,16 @@ public class ImportResponse {
         this.confidence = 0;
     }
 
+    public ImportResponse(ImportResponse other) {
+        this.company = other.company;
+        this.role = other.role;
+        this.location = other.location;
+        this.jobUrl = other.jobUrl;
+        this.description = other.description;
+        this.confidence = other.confidence;
+        this.warnings = new ArrayList<>(other.warnings);
+    }
+
     // Getters and Setters
     public String getCompany() {
         return company;
@@ -0,0 +1,101 @@
+package com.apptracker.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_analytics_rollup")
+@IdClass(UserAnalyticsRollup.RollupId.class)
+public class UserAnalyticsRollup {
+    @Id
+    @Column(name = "user_id", columnDefinition = "uuid", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket_type", nullable = false)
+    private BucketType bucketType;
+
+    @Id
+    @Column(name = "bucket_key", nullable = false)
+    private String bucketKey;
+
+    @Column(name = "app_count", nullable = false)
+    private long appCount;
+
+    public enum BucketType {
+        STATUS, WEEK
+    }
+
+    public UserAnalyticsRollup() {
+    }
+
+    // Getters and Setters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public BucketType getBucketType() {
+        return bucketType;
+    }
+
+    public void setBucketType(BucketType bucketType) {
+        this.bucketType = bucketType;
+    }
+
+    public String getBucketKey() {
+        return bucketKey;
+    }
+
+    public void setBucketKey(String bucketKey) {
+        this.bucketKey = bucketKey;
+    }
+
+    public long getAppCount() {
+        return appCount;
+    }
+
+    public void setAppCount(long appCount) {
+        this.appCount = appCount;
+    }
+
+    public static class RollupId implements Serializable {
+        private UUID userId;
+        private BucketType bucketType;
+        private String bucketKey;
+
+        public RollupId() {
+        }
+
+        public RollupId(UUID userId, BucketType bucketType, String bucketKey) {
+            this.userId = userId;
+            this.bucketType = bucketType;
+            this.bucketKey = bucketKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RollupId other)) {
+                return false;
+            }
+            return Objects.equals(userId, other.userId)
+                    && bucketType == other.bucketType
+                    && Objects.equals(bucketKey, other.bucketKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, bucketType, bucketKey);
+        }
+    }
+}
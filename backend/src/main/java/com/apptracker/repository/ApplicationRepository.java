@@ -1,14 +1,83 @@
 package com.apptracker.repository;
 
 import com.apptracker.model.ApplicationEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ApplicationRepository
         extends JpaRepository<ApplicationEntity, UUID>, JpaSpecificationExecutor<ApplicationEntity> {
     Page<ApplicationEntity> findByUserId(UUID userId, Pageable pageable);
+
+    List<ApplicationEntity> findByUserIdAndArchivedFalse(UUID userId);
+
+    String SEARCH_FROM = "FROM applications a, to_tsquery('simple', :tsquery) tsq " +
+            "WHERE a.user_id = :userId AND a.archived = false " +
+            "AND (:status = '' OR a.status = :status) " +
+            "AND (:hasFrom = false OR a.date_applied >= :fromDate) " +
+            "AND (:hasTo = false OR a.date_applied <= :toDate) " +
+            "AND (a.search_vector @@ tsq " +
+            "OR lower(a.company) LIKE :likePattern OR lower(a.role) LIKE :likePattern " +
+            "OR EXISTS (SELECT 1 FROM notes n WHERE n.application_id = a.id AND n.search_vector @@ tsq) " +
+            "OR EXISTS (SELECT 1 FROM contacts c WHERE c.application_id = a.id AND c.search_vector @@ tsq))";
+
+    /**
+     * Ranked full-text search. Matches the tsquery against company, role and
+     * location (GIN), note contents and contact names, with a trigram-indexed
+     * substring match on company and role as a fallback. Best matches come
+     * first, then newest. Pass an unsorted Pageable; ordering is fixed here.
+     */
+    @Query(value = "SELECT a.* " + SEARCH_FROM +
+            " ORDER BY ts_rank(a.search_vector, tsq) DESC, a.created_at DESC, a.id DESC",
+            countQuery = "SELECT count(*) " + SEARCH_FROM,
+            nativeQuery = true)
+    Page<ApplicationEntity> search(@Param("userId") UUID userId,
+            @Param("tsquery") String tsquery,
+            @Param("likePattern") String likePattern,
+            @Param("status") String status,
+            @Param("hasFrom") boolean hasFrom,
+            @Param("fromDate") OffsetDateTime fromDate,
+            @Param("hasTo") boolean hasTo,
+            @Param("toDate") OffsetDateTime toDate,
+            Pageable pageable);
+
+    /**
+     * Loads an application with a row lock, so concurrent changes to one
+     * application see each other's status and keep the analytics rollup exact
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ApplicationEntity> findLockedById(UUID id);
+
+    /**
+     * Owner of an application, without loading the rest of the row
+     */
+    @Query("SELECT a.userId FROM ApplicationEntity a WHERE a.id = :id")
+    Optional<UUID> findUserIdById(@Param("id") UUID id);
+
+    /**
+     * Archives up to batchSize rejected applications last updated before the
+     * cutoff, for users who enabled auto-archive. Each call commits on its own so
+     * row locks are only held for one batch.
+     *
+     * @return number of applications archived
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE applications SET archived = true, updated_at = NOW() WHERE id IN (" +
+            "SELECT a.id FROM applications a JOIN users u ON u.id = a.user_id " +
+            "WHERE u.auto_archive_old_apps = true AND a.status = 'REJECTED' AND a.archived = false " +
+            "AND a.updated_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int archiveRejectedOlderThan(@Param("cutoff") OffsetDateTime cutoff, @Param("batchSize") int batchSize);
 }
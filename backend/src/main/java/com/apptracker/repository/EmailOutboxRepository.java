@@ -0,0 +1,40 @@
+package com.apptracker.repository;
+
+import com.apptracker.model.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+
+    /**
+     * Locks up to limit messages that are due for an attempt: pending ones past
+     * their next attempt time, and ones left SENDING by an instance whose lease
+     * ran out. Rows locked by another instance are skipped, so concurrent
+     * pollers never claim the same message.
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE (status = 'PENDING' AND next_attempt_at <= NOW()) " +
+            "OR (status = 'SENDING' AND lease_expires_at <= NOW()) " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> claimDue(@Param("limit") int limit);
+
+    /**
+     * Loads a message with a row lock, so settling it can't interleave with a
+     * poll reclaiming it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<EmailOutboxMessage> findLockedById(UUID id);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = com.apptracker.model.EmailOutboxMessage.Status.SENT " +
+            "AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
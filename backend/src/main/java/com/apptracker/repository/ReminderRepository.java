@@ -14,8 +14,19 @@ import java.util.UUID;
 public interface ReminderRepository extends JpaRepository<Reminder, UUID> {
     List<Reminder> findByApplicationIdOrderByRemindAtAsc(UUID applicationId);
 
-    @Query("SELECT r FROM Reminder r WHERE r.completed = false AND r.remindAt <= :until ORDER BY r.remindAt ASC")
-    List<Reminder> findDueReminders(@Param("until") OffsetDateTime until);
+    /**
+     * Incomplete reminders due strictly between from and until, fetched together
+     * with their application and its owner as [Reminder, ApplicationEntity, User]
+     * rows. Owners with email notifications disabled are left out.
+     */
+    @Query("SELECT r, a, u FROM Reminder r " +
+            "JOIN ApplicationEntity a ON r.applicationId = a.id " +
+            "JOIN User u ON a.userId = u.id " +
+            "WHERE r.completed = false AND r.remindAt > :from AND r.remindAt < :until " +
+            "AND u.emailNotifications = true " +
+            "ORDER BY r.remindAt ASC")
+    List<Object[]> findDueRemindersWithRecipients(@Param("from") OffsetDateTime from,
+            @Param("until") OffsetDateTime until);
 
     @Query("SELECT r FROM Reminder r JOIN ApplicationEntity a ON r.applicationId = a.id " +
             "WHERE a.userId = :userId AND r.completed = false AND r.remindAt <= :until " +
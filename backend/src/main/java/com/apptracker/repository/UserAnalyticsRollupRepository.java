@@ -0,0 +1,31 @@
+package com.apptracker.repository;
+
+import com.apptracker.model.UserAnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UserAnalyticsRollupRepository
+        extends JpaRepository<UserAnalyticsRollup, UserAnalyticsRollup.RollupId> {
+    List<UserAnalyticsRollup> findByUserIdAndBucketType(UUID userId, UserAnalyticsRollup.BucketType bucketType);
+
+    List<UserAnalyticsRollup> findByUserIdAndBucketTypeAndBucketKeyBetween(UUID userId,
+            UserAnalyticsRollup.BucketType bucketType, String fromKey, String toKey);
+
+    /**
+     * Atomically adds delta to a bucket, creating the row if it does not exist yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_analytics_rollup (user_id, bucket_type, bucket_key, app_count) " +
+            "VALUES (:userId, :bucketType, :bucketKey, :delta) " +
+            "ON CONFLICT (user_id, bucket_type, bucket_key) " +
+            "DO UPDATE SET app_count = user_analytics_rollup.app_count + EXCLUDED.app_count", nativeQuery = true)
+    void increment(@Param("userId") UUID userId,
+            @Param("bucketType") String bucketType,
+            @Param("bucketKey") String bucketKey,
+            @Param("delta") long delta);
+}
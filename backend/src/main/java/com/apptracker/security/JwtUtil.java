@@ -1,6 +1,8 @@
 package com.apptracker.security;
 
+import com.apptracker.util.BoundedTtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -9,7 +11,10 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
 
@@ -19,12 +24,25 @@ public class JwtUtil {
     @Value("${jwt.secret:change-me-in-env}")
     private String secret;
 
+    @Value("${jwt.cache-size:10000}")
+    private int cacheSize;
+
     private SecretKey signingKey;
 
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private JwtParser parser;
+
+    // SHA-256 of an already verified token -> its subject, until the token expires
+    private BoundedTtlCache<String, UUID> verifiedTokens;
+
     @PostConstruct
     public void init() {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new BoundedTtlCache<>(cacheSize);
     }
 
     public String generateToken(UUID userId) {
@@ -38,11 +56,29 @@ public class JwtUtil {
     }
 
     public UUID validateAndGetUserId(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return UUID.fromString(claims.getSubject());
+        String tokenHash = hash(token);
+        UUID cached = verifiedTokens.get(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        UUID userId = UUID.fromString(claims.getSubject());
+
+        // Only tokens that expire are cached, and never past their expiry
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokens.put(tokenHash, userId, expiration.getTime());
+        }
+        return userId;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
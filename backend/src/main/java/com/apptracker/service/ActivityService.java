@@ -20,7 +20,7 @@ public class ActivityService {
 
     public List<Activity> getActivity(UUID userId, UUID appId) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         return activityRepository.findByApplicationIdOrderByCreatedAtDesc(appId);
     }
 }
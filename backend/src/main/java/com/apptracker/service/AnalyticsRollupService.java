@@ -0,0 +1,113 @@
+package com.apptracker.service;
+
+import com.apptracker.model.ApplicationEntity;
+import com.apptracker.model.UserAnalyticsRollup.BucketType;
+import com.apptracker.repository.UserAnalyticsRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Keeps the user_analytics_rollup table in step with application writes.
+ * Every method joins the caller's transaction so the counters commit or roll
+ * back together with the application row.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class AnalyticsRollupService {
+
+    private final UserAnalyticsRollupRepository rollupRepository;
+
+    public AnalyticsRollupService(UserAnalyticsRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    public void recordCreated(ApplicationEntity app) {
+        adjust(app.getUserId(), app.getStatus(), app.getDateApplied(), 1);
+    }
+
+    /**
+     * Counts a batch of new applications of one user with one upsert per
+     * touched bucket instead of two per application
+     */
+    public void recordCreated(UUID userId, List<ApplicationEntity> apps) {
+        Map<String, Long> statusCounts = new TreeMap<>();
+        Map<String, Long> weekCounts = new TreeMap<>();
+        for (ApplicationEntity app : apps) {
+            statusCounts.merge(app.getStatus().name(), 1L, Long::sum);
+            String week = weekKey(app.getDateApplied());
+            if (week != null) {
+                weekCounts.merge(week, 1L, Long::sum);
+            }
+        }
+
+        statusCounts.forEach((status, count) ->
+                rollupRepository.increment(userId, BucketType.STATUS.name(), status, count));
+        weekCounts.forEach((week, count) ->
+                rollupRepository.increment(userId, BucketType.WEEK.name(), week, count));
+    }
+
+    public void recordDeleted(ApplicationEntity app) {
+        adjust(app.getUserId(), app.getStatus(), app.getDateApplied(), -1);
+    }
+
+    /**
+     * Moves an application between buckets after its status and/or date applied
+     * changed
+     */
+    public void recordChanged(ApplicationEntity app, ApplicationEntity.Status oldStatus,
+            OffsetDateTime oldDateApplied) {
+        UUID userId = app.getUserId();
+
+        if (oldStatus != app.getStatus()) {
+            rollupRepository.increment(userId, BucketType.STATUS.name(), oldStatus.name(), -1);
+            rollupRepository.increment(userId, BucketType.STATUS.name(), app.getStatus().name(), 1);
+        }
+
+        String oldWeek = weekKey(oldDateApplied);
+        String newWeek = weekKey(app.getDateApplied());
+        if (!Objects.equals(oldWeek, newWeek)) {
+            if (oldWeek != null) {
+                rollupRepository.increment(userId, BucketType.WEEK.name(), oldWeek, -1);
+            }
+            if (newWeek != null) {
+                rollupRepository.increment(userId, BucketType.WEEK.name(), newWeek, 1);
+            }
+        }
+    }
+
+    private void adjust(UUID userId, ApplicationEntity.Status status, OffsetDateTime dateApplied, long delta) {
+        rollupRepository.increment(userId, BucketType.STATUS.name(), status.name(), delta);
+
+        String week = weekKey(dateApplied);
+        if (week != null) {
+            rollupRepository.increment(userId, BucketType.WEEK.name(), week, delta);
+        }
+    }
+
+    /**
+     * Bucket key for the ISO week containing the given instant: the week's
+     * Monday in UTC formatted as yyyy-MM-dd, so keys sort chronologically
+     */
+    public static String weekKey(OffsetDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        return weekStart(dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate()).toString();
+    }
+
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
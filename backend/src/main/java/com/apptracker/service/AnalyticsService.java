@@ -1,46 +1,52 @@
 package com.apptracker.service;
 
-import java.time.DayOfWeek;
-import java.time.OffsetDateTime;
-import java.time.temporal.TemporalAdjusters;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.apptracker.model.ApplicationEntity;
-import com.apptracker.repository.ApplicationRepository;
+import com.apptracker.exception.BadRequestException;
+import com.apptracker.model.UserAnalyticsRollup;
+import com.apptracker.model.UserAnalyticsRollup.BucketType;
+import com.apptracker.repository.UserAnalyticsRollupRepository;
 
 @Service
 public class AnalyticsService {
-    private final ApplicationRepository applicationRepository;
+    public static final int DEFAULT_WEEKS = 12;
+    // Two years; caps the rollup range scanned and the size of the response
+    public static final int MAX_WEEKS = 104;
+    private static final String WEEK_LABEL_PREFIX = "Week of ";
 
-    public AnalyticsService(ApplicationRepository applicationRepository) {
-        this.applicationRepository = applicationRepository;
-    }
+    private final UserAnalyticsRollupRepository rollupRepository;
 
-    public Map<String, Object> getAnalytics(UUID userId) {
+    public AnalyticsService(UserAnalyticsRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
 
-        List<ApplicationEntity> allApps = applicationRepository.findAll()
-                .stream()
-                .filter(app -> app.getUserId().equals(userId))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Map<String, Object> getAnalytics(UUID userId, int weeks) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new BadRequestException("weeks must be between 1 and " + MAX_WEEKS);
+        }
 
         Map<String, Object> analytics = new HashMap<>();
 
-        // Total counts by status
-        Map<String, Long> statusCounts = allApps.stream()
-                .collect(Collectors.groupingBy(
-                        app -> app.getStatus().name(),
-                        Collectors.counting()));
+        // Total counts by status, read from the rollup table
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (UserAnalyticsRollup row : rollupRepository.findByUserIdAndBucketType(userId, BucketType.STATUS)) {
+            if (row.getAppCount() > 0) {
+                statusCounts.put(row.getBucketKey(), row.getAppCount());
+            }
+        }
         analytics.put("statusCounts", statusCounts);
 
-        // Applications per week (last 12 weeks)
-        Map<String, Long> appsPerWeek = calculateAppsPerWeek(allApps);
+        // Applications per week (last 12 weeks by default)
+        Map<String, Long> appsPerWeek = calculateAppsPerWeek(userId, weeks);
         analytics.put("appsPerWeek", appsPerWeek);
 
         // Conversion rates
@@ -61,26 +67,37 @@ public class AnalyticsService {
         return analytics;
     }
 
-    private Map<String, Long> calculateAppsPerWeek(List<ApplicationEntity> apps) {
-        OffsetDateTime twelveWeeksAgo = OffsetDateTime.now().minusWeeks(12)
-                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-
-        Map<String, Long> weeklyCount = new LinkedHashMap<>();
+    private Map<String, Long> calculateAppsPerWeek(UUID userId, int weeks) {
+        LocalDate windowStart = AnalyticsRollupService.weekStart(LocalDate.now(ZoneOffset.UTC).minusWeeks(weeks));
+        long windowStartDay = windowStart.toEpochDay();
+        long[] counts = new long[weeks];
+
+        // Week buckets are keyed by their Monday, so the window is a key range and
+        // each row lands in its slot with one subtraction
+        for (UserAnalyticsRollup row : rollupRepository.findByUserIdAndBucketTypeAndBucketKeyBetween(
+                userId, BucketType.WEEK, windowStart.toString(), windowStart.plusWeeks(weeks - 1).toString())) {
+            long index = (LocalDate.parse(row.getBucketKey()).toEpochDay() - windowStartDay) / 7;
+            if (index >= 0 && index < weeks) {
+                counts[(int) index] += row.getAppCount();
+            }
+        }
 
-        for (int i = 0; i < 12; i++) {
-            OffsetDateTime weekStart = twelveWeeksAgo.plusWeeks(i);
-            OffsetDateTime weekEnd = weekStart.plusWeeks(1);
+        Map<String, Long> weeklyCount = new LinkedHashMap<>(weeks * 2);
+        StringBuilder label = new StringBuilder(WEEK_LABEL_PREFIX.length() + 5).append(WEEK_LABEL_PREFIX);
 
-            long count = apps.stream()
-                    .filter(app -> app.getDateApplied() != null)
-                    .filter(app -> !app.getDateApplied().isBefore(weekStart) && app.getDateApplied().isBefore(weekEnd))
-                    .count();
+        for (int i = 0; i < weeks; i++) {
+            LocalDate weekStart = LocalDate.ofEpochDay(windowStartDay + 7L * i);
 
-            String weekLabel = String.format("Week of %02d/%02d",
-                    weekStart.getMonthValue(), weekStart.getDayOfMonth());
-            weeklyCount.put(weekLabel, count);
+            label.setLength(WEEK_LABEL_PREFIX.length());
+            appendTwoDigits(label, weekStart.getMonthValue()).append('/');
+            appendTwoDigits(label, weekStart.getDayOfMonth());
+            weeklyCount.put(label.toString(), counts[i]);
         }
 
         return weeklyCount;
     }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
 }
@@ -0,0 +1,58 @@
+package com.apptracker.service;
+
+import com.apptracker.dto.ApplicationDTO;
+import com.apptracker.dto.ApplicationDetailDTO;
+import com.apptracker.model.ApplicationEntity;
+import com.apptracker.repository.ActivityRepository;
+import com.apptracker.repository.AttachmentRepository;
+import com.apptracker.repository.ContactRepository;
+import com.apptracker.repository.NoteRepository;
+import com.apptracker.repository.ReminderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Loads the application detail page in one request: a single ownership check
+ * followed by the child queries, all on one read-only transaction and
+ * connection.
+ */
+@Service
+public class ApplicationDetailService {
+
+    private final ApplicationService applicationService;
+    private final NoteRepository noteRepository;
+    private final ContactRepository contactRepository;
+    private final ReminderRepository reminderRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final ActivityRepository activityRepository;
+
+    public ApplicationDetailService(ApplicationService applicationService,
+            NoteRepository noteRepository,
+            ContactRepository contactRepository,
+            ReminderRepository reminderRepository,
+            AttachmentRepository attachmentRepository,
+            ActivityRepository activityRepository) {
+        this.applicationService = applicationService;
+        this.noteRepository = noteRepository;
+        this.contactRepository = contactRepository;
+        this.reminderRepository = reminderRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.activityRepository = activityRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ApplicationDetailDTO getApplicationDetail(UUID userId, UUID appId) {
+        // Verify ownership once; the application itself is part of the response
+        ApplicationEntity app = applicationService.getApplicationEntityById(userId, appId);
+
+        return new ApplicationDetailDTO(
+                new ApplicationDTO(app),
+                noteRepository.findByApplicationIdOrderByCreatedAtDesc(appId),
+                contactRepository.findByApplicationIdOrderByCreatedAtDesc(appId),
+                reminderRepository.findByApplicationIdOrderByRemindAtAsc(appId),
+                attachmentRepository.findByApplicationIdOrderByUploadedAtDesc(appId),
+                activityRepository.findByApplicationIdOrderByCreatedAtDesc(appId));
+    }
+}
@@ -0,0 +1,371 @@
+package com.apptracker.service;
+
+import com.apptracker.dto.ApplicationDTO;
+import com.apptracker.model.ApplicationEntity;
+import com.apptracker.repository.ApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over company, role and location of each user's
+ * unarchived applications, for as-you-type filtering without a database round
+ * trip. A user's index is loaded on their first query, patched after every
+ * committed write made through ApplicationService, and dropped when it is
+ * older than the TTL (writes from other instances or bulk SQL are not seen)
+ * or when the total memory budget is exceeded, least recently used first.
+ */
+@Service
+public class ApplicationSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<ApplicationDTO> NEWEST_FIRST = Comparator
+            .comparing(ApplicationDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ApplicationDTO::getId, Comparator.reverseOrder());
+
+    private final ApplicationRepository applicationRepository;
+
+    @Value("${app.search.index.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${app.search.index.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    /** Access-ordered, so iteration starts at the least recently used user */
+    private final LinkedHashMap<UUID, UserIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Committed writes per user. A load compares the count before and after
+     * reading, so any write that committed meanwhile marks its snapshot stale,
+     * however many loads overlap. One entry per user who has written.
+     */
+    private final Map<UUID, Long> writeGenerations = new ConcurrentHashMap<>();
+
+    /** Bumped by invalidateAll, which makes every load in progress stale */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ApplicationSearchIndex(ApplicationRepository applicationRepository) {
+        this.applicationRepository = applicationRepository;
+    }
+
+    /**
+     * Applications whose company, role or location has a word starting with
+     * every word of the query, newest first. Same filters as the database path.
+     */
+    public Page<ApplicationDTO> search(UUID userId, String status, String query,
+            OffsetDateTime from, OffsetDateTime to, Pageable pageable) {
+        String statusFilter = status == null || status.isEmpty()
+                ? null
+                : ApplicationEntity.Status.valueOf(status).name();
+
+        List<ApplicationDTO> matches = getOrLoad(userId).search(tokenize(query));
+        matches.removeIf(app -> (statusFilter != null && !statusFilter.equals(app.getStatus()))
+                || (from != null && (app.getDateApplied() == null || app.getDateApplied().isBefore(from)))
+                || (to != null && (app.getDateApplied() == null || app.getDateApplied().isAfter(to))));
+        matches.sort(NEWEST_FIRST);
+
+        int start = (int) Math.min(pageable.getOffset(), matches.size());
+        int end = Math.min(start + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(new ArrayList<>(matches.subList(start, end)), pageable, matches.size());
+    }
+
+    /**
+     * Records a created or updated application once the surrounding
+     * transaction commits. Archived applications are removed.
+     */
+    public void applicationSaved(UUID userId, ApplicationDTO app) {
+        afterCommit(userId, index -> {
+            if (app.isArchived()) {
+                index.remove(app.getId());
+            } else {
+                index.put(app);
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted application once the surrounding transaction commits
+     */
+    public void applicationDeleted(UUID userId, UUID appId) {
+        afterCommit(userId, index -> index.remove(appId));
+    }
+
+    /**
+     * Drops every index, for bulk changes made outside ApplicationService
+     */
+    public synchronized void invalidateAll() {
+        invalidations.incrementAndGet();
+        indexes.clear();
+    }
+
+    private void afterCommit(UUID userId, Consumer<UserIndex> update) {
+        Runnable apply = () -> {
+            writeGenerations.merge(userId, 1L, Long::sum);
+            UserIndex index;
+            synchronized (this) {
+                index = indexes.get(userId);
+            }
+            if (index != null) {
+                update.accept(index);
+                evictOverBudget();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private UserIndex getOrLoad(UUID userId) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            UserIndex index = indexes.get(userId);
+            if (index != null && index.expiresAt > now) {
+                return index;
+            }
+            indexes.remove(userId);
+        }
+
+        long generation = writeGenerations.getOrDefault(userId, 0L);
+        long invalidation = invalidations.get();
+        UserIndex index = new UserIndex(now + ttlMinutes * 60_000);
+        for (ApplicationEntity app : applicationRepository.findByUserIdAndArchivedFalse(userId)) {
+            index.put(new ApplicationDTO(app));
+        }
+        // A write committed while loading may be missing from the snapshot;
+        // answer this query from it but don't keep it. Checked under the lock:
+        // a write bumps its generation before looking for the index to patch,
+        // so it either shows up here or finds and patches the stored index.
+        boolean stored = false;
+        synchronized (this) {
+            if (writeGenerations.getOrDefault(userId, 0L) == generation && invalidations.get() == invalidation) {
+                indexes.put(userId, index);
+                stored = true;
+            }
+        }
+        if (stored) {
+            evictOverBudget();
+        }
+        return index;
+    }
+
+    private synchronized void evictOverBudget() {
+        long total = 0;
+        for (UserIndex index : indexes.values()) {
+            total += index.estimatedBytes();
+        }
+        Iterator<UserIndex> eldest = indexes.values().iterator();
+        // Always keep the most recently used index, even if it alone is over budget
+        while (total > maxBytes && indexes.size() > 1 && eldest.hasNext()) {
+            total -= eldest.next().estimatedBytes();
+            eldest.remove();
+        }
+        if (total > maxBytes) {
+            logger.warn("Search index for a single user ({} bytes) exceeds the {} byte budget", total, maxBytes);
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : NON_WORD.split(text.toLowerCase())) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * One user's index. Documents are numbered by slot; postings are sorted
+     * int arrays and the sorted term map answers prefix lookups as a range.
+     */
+    private static final class UserIndex {
+        private static final int DOC_OVERHEAD_BYTES = 256;
+        private static final int TERM_OVERHEAD_BYTES = 64;
+
+        private final long expiresAt;
+        private final List<ApplicationDTO> docs = new ArrayList<>();
+        private final Map<UUID, Integer> slots = new HashMap<>();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final BitSet freeSlots = new BitSet();
+        private long bytes;
+
+        UserIndex(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        synchronized long estimatedBytes() {
+            return bytes;
+        }
+
+        synchronized void put(ApplicationDTO app) {
+            remove(app.getId());
+
+            int slot = freeSlots.nextSetBit(0);
+            if (slot < 0) {
+                slot = docs.size();
+                docs.add(app);
+            } else {
+                freeSlots.clear(slot);
+                docs.set(slot, app);
+            }
+            slots.put(app.getId(), slot);
+            bytes += docBytes(app);
+
+            for (String term : termsOf(app)) {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(term, postings);
+                    bytes += TERM_OVERHEAD_BYTES + 2L * term.length();
+                }
+                postings.add(slot);
+                bytes += Integer.BYTES;
+            }
+        }
+
+        synchronized void remove(UUID appId) {
+            Integer slot = slots.remove(appId);
+            if (slot == null) {
+                return;
+            }
+            ApplicationDTO app = docs.get(slot);
+            docs.set(slot, null);
+            freeSlots.set(slot);
+            bytes -= docBytes(app);
+
+            for (String term : termsOf(app)) {
+                Postings postings = terms.get(term);
+                postings.remove(slot);
+                bytes -= Integer.BYTES;
+                if (postings.size == 0) {
+                    terms.remove(term);
+                    bytes -= TERM_OVERHEAD_BYTES + 2L * term.length();
+                }
+            }
+        }
+
+        /**
+         * Every query word must be a prefix of some indexed word; an empty
+         * query matches everything
+         */
+        synchronized List<ApplicationDTO> search(Set<String> queryWords) {
+            BitSet result = null;
+            for (String word : queryWords) {
+                BitSet matches = new BitSet(docs.size());
+                for (Postings postings : terms.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                    for (int i = 0; i < postings.size; i++) {
+                        matches.set(postings.slots[i]);
+                    }
+                }
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.and(matches);
+                }
+                if (result.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            List<ApplicationDTO> apps = new ArrayList<>();
+            if (result == null) {
+                for (ApplicationDTO app : docs) {
+                    if (app != null) {
+                        apps.add(app);
+                    }
+                }
+            } else {
+                for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                    apps.add(docs.get(slot));
+                }
+            }
+            return apps;
+        }
+
+        private static Set<String> termsOf(ApplicationDTO app) {
+            Set<String> words = tokenize(app.getCompany());
+            words.addAll(tokenize(app.getRole()));
+            words.addAll(tokenize(app.getLocation()));
+            return words;
+        }
+
+        private static long docBytes(ApplicationDTO app) {
+            return DOC_OVERHEAD_BYTES + 2L * (length(app.getCompany()) + length(app.getRole())
+                    + length(app.getLocation()) + length(app.getJobUrl()));
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+
+    /**
+     * Growable sorted int array of document slots
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int pos = Arrays.binarySearch(slots, 0, size, slot);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, pos, slots, pos + 1, size - pos);
+            slots[pos] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int pos = Arrays.binarySearch(slots, 0, size, slot);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(slots, pos + 1, slots, pos, size - pos - 1);
+            size--;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.apptracker.service;
 
 import com.apptracker.dto.*;
+import com.apptracker.exception.BadRequestException;
 import com.apptracker.exception.ResourceNotFoundException;
 import com.apptracker.exception.UnauthorizedException;
 import com.apptracker.model.ApplicationEntity;
@@ -8,31 +9,98 @@ import com.apptracker.model.Activity;
 import com.apptracker.repository.ApplicationRepository;
 import com.apptracker.repository.ActivityRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Predicate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Service
 public class ApplicationService {
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
 
     private final ApplicationRepository applicationRepository;
     private final ActivityRepository activityRepository;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final ApplicationSearchIndex searchIndex;
+    private final EntityManager entityManager;
 
-    public ApplicationService(ApplicationRepository applicationRepository, ActivityRepository activityRepository) {
+    public ApplicationService(ApplicationRepository applicationRepository, ActivityRepository activityRepository,
+            AnalyticsRollupService analyticsRollupService, ApplicationSearchIndex searchIndex,
+            EntityManager entityManager) {
         this.applicationRepository = applicationRepository;
         this.activityRepository = activityRepository;
+        this.analyticsRollupService = analyticsRollupService;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
     }
 
     @Transactional
     public ApplicationDTO createApplication(UUID userId, CreateApplicationRequest request) {
+        ApplicationEntity app = newApplication(userId, request);
+
+        ApplicationEntity saved = applicationRepository.save(app);
+        analyticsRollupService.recordCreated(saved);
+        ApplicationDTO dto = new ApplicationDTO(saved);
+        searchIndex.applicationSaved(userId, dto);
+
+        // Log activity
+        logActivity(saved.getId(), Activity.ActivityType.CREATED,
+                String.format("Application created for %s at %s", request.getRole(), request.getCompany()));
+
+        return dto;
+    }
+
+    /**
+     * Creates many applications in one transaction. Rows are persisted directly
+     * rather than through save(), which would merge (and SELECT) because ids are
+     * assigned up front, so both tables go out as JDBC batches on flush.
+     * Applications are flushed before activities to satisfy the foreign key.
+     */
+    @Transactional
+    public List<ApplicationDTO> createApplications(UUID userId, List<CreateApplicationRequest> requests) {
+        List<ApplicationEntity> apps = new ArrayList<>(requests.size());
+        for (CreateApplicationRequest request : requests) {
+            ApplicationEntity app = newApplication(userId, request);
+            entityManager.persist(app);
+            apps.add(app);
+        }
+        entityManager.flush();
+
+        for (ApplicationEntity app : apps) {
+            entityManager.persist(newActivity(app.getId(), Activity.ActivityType.CREATED,
+                    String.format("Application created for %s at %s", app.getRole(), app.getCompany())));
+        }
+        entityManager.flush();
+
+        analyticsRollupService.recordCreated(userId, apps);
+
+        List<ApplicationDTO> created = new ArrayList<>(apps.size());
+        for (ApplicationEntity app : apps) {
+            ApplicationDTO dto = new ApplicationDTO(app);
+            searchIndex.applicationSaved(userId, dto);
+            created.add(dto);
+        }
+        return created;
+    }
+
+    private ApplicationEntity newApplication(UUID userId, CreateApplicationRequest request) {
         ApplicationEntity app = new ApplicationEntity();
         app.setUserId(userId);
         app.setCompany(request.getCompany());
@@ -47,20 +115,108 @@ public class ApplicationService {
         if (request.getStatus() != null) {
             app.setStatus(ApplicationEntity.Status.valueOf(request.getStatus()));
         }
+        return app;
+    }
 
-        ApplicationEntity saved = applicationRepository.save(app);
-
-        // Log activity
-        logActivity(saved.getId(), Activity.ActivityType.CREATED,
-                String.format("Application created for %s at %s", request.getRole(), request.getCompany()));
+    public Page<ApplicationDTO> getApplications(UUID userId, String status, String query,
+            OffsetDateTime from, OffsetDateTime to,
+            Pageable pageable) {
+        String tsquery = toPrefixTsQuery(query);
+        if (tsquery != null) {
+            String statusFilter = status == null || status.isEmpty()
+                    ? ""
+                    : ApplicationEntity.Status.valueOf(status).name();
+            // Native queries can't bind an untyped null timestamp, so absent bounds
+            // are switched off with a flag and given a placeholder value
+            OffsetDateTime noDate = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+            return applicationRepository.search(userId, tsquery, "%" + query.toLowerCase() + "%",
+                    statusFilter,
+                    from != null, from != null ? from : noDate,
+                    to != null, to != null ? to : noDate,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                    .map(ApplicationDTO::new);
+        }
 
-        return new ApplicationDTO(saved);
+        Specification<ApplicationEntity> spec = buildSpecification(userId, status, query, from, to);
+        return applicationRepository.findAll(spec, pageable).map(ApplicationDTO::new);
     }
 
-    public Page<ApplicationDTO> getApplications(UUID userId, String status, String query,
+    /**
+     * Same listing as getApplications, answered from the in-memory search index
+     */
+    public Page<ApplicationDTO> getApplicationsFromIndex(UUID userId, String status, String query,
             OffsetDateTime from, OffsetDateTime to,
             Pageable pageable) {
-        Specification<ApplicationEntity> spec = (root, criteriaQuery, cb) -> {
+        return searchIndex.search(userId, status, query, from, to, pageable);
+    }
+
+    /**
+     * Turns free text into a tsquery where every word must match as a prefix,
+     * e.g. "soft eng" becomes "soft:* & eng:*". Only letters and digits are kept,
+     * so the result is always valid tsquery syntax. Returns null when the text
+     * has no searchable words.
+     */
+    static String toPrefixTsQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        StringBuilder tsquery = new StringBuilder();
+        for (String word : NON_WORD.split(query.toLowerCase())) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (tsquery.length() > 0) {
+                tsquery.append(" & ");
+            }
+            tsquery.append(word).append(":*");
+        }
+        return tsquery.length() == 0 ? null : tsquery.toString();
+    }
+
+    /**
+     * Keyset pagination, newest first. The cursor is the (createdAt, id) of the
+     * last row of the previous page, so every page is an index range scan and no
+     * count query is run. An empty cursor starts from the newest application.
+     */
+    public CursorPage<ApplicationDTO> getApplicationsAfter(UUID userId, String status, String query,
+            OffsetDateTime from, OffsetDateTime to,
+            String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        Specification<ApplicationEntity> spec = buildSpecification(userId, status, query, from, to);
+
+        if (cursor != null && !cursor.isEmpty()) {
+            ApplicationCursor position = ApplicationCursor.decode(cursor);
+            spec = spec.and((root, criteriaQuery, cb) -> cb.or(
+                    cb.lessThan(root.get("createdAt"), position.createdAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), position.createdAt()),
+                            cb.lessThan(root.get("id"), position.id()))));
+        }
+
+        // Fetch one extra row to learn whether there is a next page
+        List<ApplicationEntity> rows = applicationRepository.findBy(spec, q -> q
+                .sortBy(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(size + 1)
+                .all());
+
+        boolean hasMore = rows.size() > size;
+        List<ApplicationEntity> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ApplicationEntity last = page.get(page.size() - 1);
+            nextCursor = new ApplicationCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(page.stream().map(ApplicationDTO::new).toList(), nextCursor);
+    }
+
+    private Specification<ApplicationEntity> buildSpecification(UUID userId, String status, String query,
+            OffsetDateTime from, OffsetDateTime to) {
+        return (root, criteriaQuery, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             predicates.add(cb.equal(root.get("userId"), userId));
@@ -87,8 +243,28 @@ public class ApplicationService {
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        return applicationRepository.findAll(spec, pageable).map(ApplicationDTO::new);
+    /**
+     * Opaque cursor token: base64url of "createdAt|id"
+     */
+    private record ApplicationCursor(OffsetDateTime createdAt, UUID id) {
+        String encode() {
+            String raw = createdAt.toInstant().toString() + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ApplicationCursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new ApplicationCursor(
+                        Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
     }
 
     public ApplicationDTO getApplicationById(UUID userId, UUID appId) {
@@ -104,13 +280,16 @@ public class ApplicationService {
 
     @Transactional
     public ApplicationDTO updateApplication(UUID userId, UUID appId, CreateApplicationRequest request) {
-        ApplicationEntity app = applicationRepository.findById(appId)
+        ApplicationEntity app = applicationRepository.findLockedById(appId)
                 .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
 
         if (!app.getUserId().equals(userId)) {
             throw new UnauthorizedException("You do not have permission to update this application");
         }
 
+        ApplicationEntity.Status oldStatus = app.getStatus();
+        OffsetDateTime oldDateApplied = app.getDateApplied();
+
         app.setCompany(request.getCompany());
         app.setRole(request.getRole());
         app.setLocation(request.getLocation());
@@ -123,15 +302,18 @@ public class ApplicationService {
         }
 
         ApplicationEntity saved = applicationRepository.save(app);
+        analyticsRollupService.recordChanged(saved, oldStatus, oldDateApplied);
+        ApplicationDTO dto = new ApplicationDTO(saved);
+        searchIndex.applicationSaved(userId, dto);
 
         logActivity(appId, Activity.ActivityType.UPDATED, "Application updated");
 
-        return new ApplicationDTO(saved);
+        return dto;
     }
 
     @Transactional
     public void deleteApplication(UUID userId, UUID appId) {
-        ApplicationEntity app = applicationRepository.findById(appId)
+        ApplicationEntity app = applicationRepository.findLockedById(appId)
                 .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
 
         if (!app.getUserId().equals(userId)) {
@@ -139,11 +321,13 @@ public class ApplicationService {
         }
 
         applicationRepository.delete(app);
+        analyticsRollupService.recordDeleted(app);
+        searchIndex.applicationDeleted(userId, appId);
     }
 
     @Transactional
     public ApplicationDTO updateStatus(UUID userId, UUID appId, String newStatus) {
-        ApplicationEntity app = applicationRepository.findById(appId)
+        ApplicationEntity app = applicationRepository.findLockedById(appId)
                 .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
 
         if (!app.getUserId().equals(userId)) {
@@ -155,19 +339,26 @@ public class ApplicationService {
         app.setStatus(status);
 
         ApplicationEntity saved = applicationRepository.save(app);
+        analyticsRollupService.recordChanged(saved, oldStatus, saved.getDateApplied());
+        ApplicationDTO dto = new ApplicationDTO(saved);
+        searchIndex.applicationSaved(userId, dto);
 
         logActivity(appId, Activity.ActivityType.STATUS_CHANGED,
                 String.format("Status changed from %s to %s", oldStatus, status));
 
-        return new ApplicationDTO(saved);
+        return dto;
     }
 
     public void logActivity(UUID applicationId, Activity.ActivityType type, String message) {
+        activityRepository.save(newActivity(applicationId, type, message));
+    }
+
+    private Activity newActivity(UUID applicationId, Activity.ActivityType type, String message) {
         Activity activity = new Activity();
         activity.setApplicationId(applicationId);
         activity.setType(type);
         activity.setMessage(message);
-        activityRepository.save(activity);
+        return activity;
     }
 
     public ApplicationEntity getApplicationEntityById(UUID userId, UUID appId) {
@@ -180,4 +371,17 @@ public class ApplicationService {
 
         return app;
     }
+
+    /**
+     * Checks that the application exists and belongs to the user. Only the owner
+     * column is read, which is all the child-resource endpoints need.
+     */
+    public void verifyOwnership(UUID userId, UUID appId) {
+        UUID ownerId = applicationRepository.findUserIdById(appId)
+                .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
+
+        if (!ownerId.equals(userId)) {
+            throw new UnauthorizedException("You do not have permission to access this application");
+        }
+    }
 }
@@ -32,7 +32,7 @@ public class AttachmentService {
     @Transactional
     public PresignResponse generatePresignedUrl(UUID userId, UUID appId, PresignRequest request) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
 
         // Validate file
         if (!R2StorageService.isAllowedContentType(request.getContentType())) {
@@ -52,7 +52,7 @@ public class AttachmentService {
     @Transactional
     public Attachment confirmAttachment(UUID userId, UUID appId, ConfirmAttachmentRequest request) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
 
         Attachment attachment = new Attachment();
         attachment.setApplicationId(appId);
@@ -75,7 +75,7 @@ public class AttachmentService {
 
     public List<Attachment> getAttachments(UUID userId, UUID appId) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         return attachmentRepository.findByApplicationIdOrderByUploadedAtDesc(appId);
     }
 
@@ -84,7 +84,7 @@ public class AttachmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment not found"));
 
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, attachment.getApplicationId());
+        applicationService.verifyOwnership(userId, attachment.getApplicationId());
 
         return r2StorageService.generatePresignedDownloadUrl(attachment.getObjectKey());
     }
@@ -94,7 +94,7 @@ public class AttachmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment not found"));
 
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         
         // Delete from R2 first
         r2StorageService.deleteObject(attachment.getObjectKey());
@@ -12,6 +12,7 @@ import com.apptracker.repository.UserRepository;
 import com.apptracker.repository.VerifyEmailTokenRepository;
 import com.apptracker.security.JwtUtil;
 import com.apptracker.util.AppLogger;
+import com.apptracker.util.HtmlTemplate;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -27,18 +28,61 @@ public class AuthService {
 
     private final UserRepository userRepo;
     private final AttachmentRepository attachmentRepo;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final R2StorageService r2StorageService;
     private final JwtUtil jwtUtil;
     private final VerifyEmailTokenRepository emailVerificationTokenRepository;
     private final BCryptPasswordEncoder pwEncoder = new BCryptPasswordEncoder();
 
+    private static final HtmlTemplate VERIFICATION_EMAIL = HtmlTemplate.compile(
+            """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #2563eb; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                    .content { background-color: #f9fafb; padding: 20px; border-radius: 0 0 5px 5px; }
+                    .button { display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; }
+                    .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
+                    .warning { background-color: #fef3c7; padding: 10px; border-left: 4px solid #f59e0b; margin: 20px 0; border-radius: 3px; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Email Verification</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hi {{name}},</p>
+                        <p>We received a request to verify your email address. If you didn't make this request, you can ignore this email.</p>
+                        <p>Click the button below to verify your email:</p>
+                        <div style="text-align: center;">
+                            <a href="{{verificationUrl}}" style="display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; font-weight: bold;">Verify Email</a>                                            </div>
+                        <p>Or copy and paste this link in your browser:</p>
+                        <p style="word-break: break-all; font-size: 12px; color: #666;">{{verificationUrl}}</p>
+                        <div class="warning">
+                            <strong>This link expires in 15 minutes.</strong> After that, you'll need to request a new email verification.
+                        </div>
+                        <div class="footer">
+                            <p>If you have any questions, please contact our support team.</p>
+                            <p>&copy; 2024 AppTracker. All rights reserved.</p>
+                        </div>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """,
+            "name", "verificationUrl");
+
     public AuthService(UserRepository userRepo, AttachmentRepository attachmentRepo,
-            EmailService emailService, R2StorageService r2StorageService,
+            EmailOutboxService emailOutboxService, R2StorageService r2StorageService,
             JwtUtil jwtUtil, VerifyEmailTokenRepository emailVerificationTokenRepository) {
         this.userRepo = userRepo;
         this.attachmentRepo = attachmentRepo;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
         this.r2StorageService = r2StorageService;
         this.jwtUtil = jwtUtil;
         this.emailVerificationTokenRepository = emailVerificationTokenRepository;
@@ -76,8 +120,10 @@ public class AuthService {
     }
 
     /**
-     * Authenticate user by email and password
+     * Authenticate user by email and password. The verification email queued for
+     * unverified users must survive the UnverifiedEmailException.
      */
+    @Transactional(noRollbackFor = UnverifiedEmailException.class)
     public AuthResponse login(String email, String password) {
         User user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
@@ -297,52 +343,10 @@ public class AuthService {
     private void sendVerificationEmail(String email, String token, String name) {
         String verificationUrl = System.getenv("FRONTEND_URL") + "/verify-email?token=" + token;
 
-        emailService.sendEmail(
+        emailOutboxService.enqueue(
                 email,
                 "Verify Your Email",
-                String.format(
-                        """
-                                <!DOCTYPE html>
-                                <html>
-                                <head>
-                                    <meta charset="UTF-8">
-                                    <style>
-                                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                                        .header { background-color: #2563eb; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
-                                        .content { background-color: #f9fafb; padding: 20px; border-radius: 0 0 5px 5px; }
-                                        .button { display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; }
-                                        .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
-                                        .warning { background-color: #fef3c7; padding: 10px; border-left: 4px solid #f59e0b; margin: 20px 0; border-radius: 3px; }
-                                    </style>
-                                </head>
-                                <body>
-                                    <div class="container">
-                                        <div class="header">
-                                            <h1>Email Verification</h1>
-                                        </div>
-                                        <div class="content">
-                                            <p>Hi %s,</p>
-                                            <p>We received a request to verify your email address. If you didn't make this request, you can ignore this email.</p>
-                                            <p>Click the button below to verify your email:</p>
-                                            <div style="text-align: center;">
-                                                <a href="%s" style="display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; font-weight: bold;">Verify Email</a>                                            </div>
-                                            <p>Or copy and paste this link in your browser:</p>
-                                            <p style="word-break: break-all; font-size: 12px; color: #666;">%s</p>
-                                            <div class="warning">
-                                                <strong>This link expires in 15 minutes.</strong> After that, you'll need to request a new email verification.
-                                            </div>
-                                            <div class="footer">
-                                                <p>If you have any questions, please contact our support team.</p>
-                                                <p>&copy; 2024 AppTracker. All rights reserved.</p>
-                                            </div>
-                                        </div>
-                                    </div>
-                                </body>
-                                </html>
-                                """,
-                        name, verificationUrl, verificationUrl));
-
+                VERIFICATION_EMAIL.render(name, verificationUrl));
     }
 
     /**
@@ -33,7 +33,7 @@ public class ContactService {
     @Transactional
     public Contact createContact(UUID userId, UUID appId, CreateContactRequest request) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
 
         if (request.getPhone() != null && !request.getPhone().isEmpty()) {
             try {
@@ -68,7 +68,7 @@ public class ContactService {
 
     public List<Contact> getContacts(UUID userId, UUID appId) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         return contactRepository.findByApplicationIdOrderByCreatedAtDesc(appId);
     }
 
@@ -76,7 +76,7 @@ public class ContactService {
         Contact contact = contactRepository.findById(contactId)
                 .orElseThrow(() -> new ResourceNotFoundException("Contact not found"));
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         contactRepository.delete(contact);
     }
 }
\ No newline at end of file
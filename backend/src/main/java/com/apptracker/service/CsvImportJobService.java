@@ -0,0 +1,256 @@
+package com.apptracker.service;
+
+import com.apptracker.dto.CsvImportJobStatus;
+import com.apptracker.dto.CsvImportJobStatus.State;
+import com.apptracker.dto.CsvImportResult;
+import com.apptracker.exception.ResourceNotFoundException;
+import com.apptracker.exception.TooManyRequestsException;
+import com.apptracker.exception.UnauthorizedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs CSV imports in the background. The upload is spooled to a temp file so
+ * the request can return at once with a job id; progress is then polled or
+ * streamed as Server-Sent Events. Jobs live in memory and are forgotten a while
+ * after they finish. Both the queue of waiting jobs and the number of
+ * unfinished jobs per user are bounded, so uploads can't pile up on disk.
+ */
+@Service
+public class CsvImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvImportJobService.class);
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final CsvImportService csvImportService;
+
+    @Value("${app.import.workers:2}")
+    private int workerCount;
+
+    @Value("${app.import.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.import.max-jobs-per-user:2}")
+    private int maxJobsPerUser;
+
+    @Value("${app.import.job-retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+    /** Queued or running jobs per user */
+    private final Map<UUID, Integer> unfinishedJobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor workers;
+
+    public CsvImportJobService(CsvImportService csvImportService) {
+        this.csvImportService = csvImportService;
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "csv-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * @throws TooManyRequestsException if the user already has the maximum
+     *                                  number of unfinished jobs or the queue is full
+     */
+    public CsvImportJobStatus submit(UUID userId, MultipartFile file) throws IOException {
+        reserveSlot(userId);
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("csv-import-", ".csv");
+            // Moves the container's multipart file when it is already on disk
+            file.transferTo(spool);
+
+            ImportJob job = new ImportJob(UUID.randomUUID(), userId, spool);
+            workers.execute(() -> run(job));
+            jobs.put(job.id, job);
+            return job.status();
+        } catch (IOException | RuntimeException e) {
+            releaseSlot(userId);
+            if (spool != null) {
+                Files.deleteIfExists(spool);
+            }
+            if (e instanceof RejectedExecutionException) {
+                throw new TooManyRequestsException("Too many imports are queued; try again in a few minutes");
+            }
+            throw e;
+        }
+    }
+
+    public CsvImportJobStatus getStatus(UUID userId, UUID jobId) {
+        return getJob(userId, jobId).status();
+    }
+
+    /**
+     * Streams a "progress" event after every committed chunk. The current status
+     * is sent immediately and the stream completes when the job finishes.
+     */
+    public SseEmitter subscribe(UUID userId, UUID jobId) {
+        ImportJob job = getJob(userId, jobId);
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+
+        synchronized (job) {
+            CsvImportJobStatus status = job.status();
+            if (!send(emitter, status)) {
+                return emitter;
+            }
+            if (status.isDone()) {
+                emitter.complete();
+                return emitter;
+            }
+            job.emitters.add(emitter);
+        }
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+        return emitter;
+    }
+
+    @Scheduled(fixedRate = 10 * 60 * 1000)
+    public void purgeFinishedJobs() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void reserveSlot(UUID userId) {
+        unfinishedJobs.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxJobsPerUser) {
+                throw new TooManyRequestsException(
+                        "You already have " + current + " imports in progress; wait for one to finish");
+            }
+            return current + 1;
+        });
+    }
+
+    private void releaseSlot(UUID userId) {
+        unfinishedJobs.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void run(ImportJob job) {
+        job.state = State.RUNNING;
+        publish(job);
+
+        try {
+            csvImportService.importApplications(job.userId, new FileSystemResource(job.spool), job.result,
+                    () -> publish(job));
+            job.state = State.COMPLETED;
+        } catch (Exception e) {
+            logger.error("CSV import job {} failed", job.id, e);
+            job.result.addError(0, "Failed to import CSV: " + e.getMessage());
+            job.state = State.FAILED;
+        } finally {
+            try {
+                Files.deleteIfExists(job.spool);
+            } catch (IOException e) {
+                logger.warn("Could not delete CSV import spool file {}", job.spool, e);
+            }
+        }
+
+        releaseSlot(job.userId);
+        synchronized (job) {
+            job.finishedAt = OffsetDateTime.now();
+            CsvImportJobStatus status = job.status();
+            for (SseEmitter emitter : job.emitters) {
+                if (send(emitter, status)) {
+                    emitter.complete();
+                }
+            }
+            job.emitters.clear();
+        }
+    }
+
+    private void publish(ImportJob job) {
+        if (job.emitters.isEmpty()) {
+            return;
+        }
+        CsvImportJobStatus status = job.status();
+        for (SseEmitter emitter : job.emitters) {
+            if (!send(emitter, status)) {
+                job.emitters.remove(emitter);
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, CsvImportJobStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(status));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter is dropped
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private ImportJob getJob(UUID userId, UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        if (!job.userId.equals(userId)) {
+            throw new UnauthorizedException("You do not have permission to access this import job");
+        }
+        return job;
+    }
+
+    private static final class ImportJob {
+        private final UUID id;
+        private final UUID userId;
+        private final Path spool;
+        private final CsvImportResult result = new CsvImportResult();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final OffsetDateTime createdAt = OffsetDateTime.now();
+        private volatile State state = State.QUEUED;
+        private volatile OffsetDateTime finishedAt;
+
+        ImportJob(UUID id, UUID userId, Path spool) {
+            this.id = id;
+            this.userId = userId;
+            this.spool = spool;
+        }
+
+        CsvImportJobStatus status() {
+            return new CsvImportJobStatus(id, state, result, createdAt, finishedAt);
+        }
+    }
+}
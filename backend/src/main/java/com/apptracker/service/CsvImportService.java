@@ -1,28 +1,53 @@
 package com.apptracker.service;
 
-import com.apptracker.dto.ApplicationDTO;
 import com.apptracker.dto.CreateApplicationRequest;
 import com.apptracker.model.ApplicationEntity;
+import com.apptracker.util.FlexibleDateParser;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import com.apptracker.dto.CsvImportResult;
 
 @Service
 public class CsvImportService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CsvImportService.class);
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT
+            .builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setTrim(true)
+            .get();
+
+    /** Rows validated and inserted per transaction */
+    private static final int CHUNK_SIZE = 500;
+
+    /** Rows read ahead to settle how the file writes slash dates */
+    private static final int DATE_ORDER_SAMPLE_ROWS = 100;
+
     private final ApplicationService applicationService;
 
     public CsvImportService(ApplicationService applicationService) {
@@ -32,43 +57,134 @@ public class CsvImportService {
     public CsvImportResult importApplications(UUID userId, MultipartFile file) {
         CsvImportResult result = new CsvImportResult();
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+        try {
+            importApplications(userId, file, result, () -> {
+            });
+        } catch (IOException | UncheckedIOException e) {
+            result.addError(0, "Failed to read CSV file: " + e.getMessage());
+        } catch (RuntimeException e) {
+            result.addError(0, "Failed to parse CSV file: " + e.getMessage());
+        }
 
-            CSVParser csvParser = CSVFormat.DEFAULT
-                    .builder()
-                    .setHeader()
-                    .setSkipHeaderRecord(true)
-                    .setIgnoreHeaderCase(true)
-                    .setTrim(true)
-                    .get()
-                    .parse(reader);
+        return result;
+    }
 
+    /**
+     * Streams rows from the source and commits them in chunks, adding to result
+     * as it goes. onChunk runs after every committed chunk, for progress reporting.
+     * Bad rows are recorded in result; a file that can't be read or parsed
+     * throws, leaving the chunks committed so far in place. The first rows are
+     * buffered to settle how slash dates are written before any row is parsed.
+     */
+    public void importApplications(UUID userId, InputStreamSource source, CsvImportResult result,
+            Runnable onChunk) throws IOException {
+        try (CSVParser csvParser = openCsv(source)) {
             int rowNumber = 1; // Start at 1 (header is row 0)
+            List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            HeaderIndex headers = HeaderIndex.resolve(csvParser.getHeaderMap());
+
+            Iterator<CSVRecord> records = csvParser.iterator();
+            List<CSVRecord> sample = new ArrayList<>(DATE_ORDER_SAMPLE_ROWS);
+            while (sample.size() < DATE_ORDER_SAMPLE_ROWS && records.hasNext()) {
+                sample.add(records.next());
+            }
+            FlexibleDateParser dateParser = detectDateOrder(sample, headers);
 
-            for (CSVRecord record : csvParser) {
+            Iterator<CSVRecord> sampled = sample.iterator();
+            while (sampled.hasNext() || records.hasNext()) {
+                CSVRecord record = sampled.hasNext() ? sampled.next() : records.next();
                 rowNumber++;
                 try {
-                    ApplicationDTO app = processRecord(userId, record);
-                    result.addSuccess(app);
+                    chunk.add(new PendingRow(rowNumber, toRequest(record, headers, dateParser)));
                 } catch (Exception e) {
                     result.addError(rowNumber, e.getMessage());
                 }
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    insertChunk(userId, chunk, result);
+                    chunk.clear();
+                    onChunk.run();
+                }
+            }
+            insertChunk(userId, chunk, result);
+            onChunk.run();
+        }
+    }
+
+    /**
+     * Settles day-first vs month-first from the first unambiguous slash date in
+     * the sampled rows, so rows before it are read the same way as the rest.
+     * Stops at the first date without a slash: the file doesn't use them.
+     */
+    private static FlexibleDateParser detectDateOrder(List<CSVRecord> sample, HeaderIndex headers) {
+        FlexibleDateParser dateParser = new FlexibleDateParser();
+        if (!headers.has(Column.DATE_APPLIED)) {
+            return dateParser;
+        }
+        for (CSVRecord record : sample) {
+            String date = headers.get(record, Column.DATE_APPLIED);
+            if (date == null || date.isBlank()) {
+                continue;
+            }
+            if (date.indexOf('/') < 0 || dateParser.observe(date)) {
+                break;
             }
+        }
+        return dateParser;
+    }
+
+    private static CSVParser openCsv(InputStreamSource source) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8));
+        try {
+            return CSV_FORMAT.parse(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts a chunk of validated rows in one batched transaction. If the batch
+     * is rejected, the rows are retried one by one so each failure is reported
+     * against its own row.
+     */
+    private void insertChunk(UUID userId, List<PendingRow> chunk, CsvImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
 
+        List<CreateApplicationRequest> requests = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            requests.add(row.request());
+        }
+
+        try {
+            result.addSuccesses(applicationService.createApplications(userId, requests).size());
+            return;
         } catch (Exception e) {
-            result.addError(0, "Failed to parse CSV file: " + e.getMessage());
+            logger.warn("Batch insert of {} CSV rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
         }
 
-        return result;
+        for (PendingRow row : chunk) {
+            try {
+                applicationService.createApplication(userId, row.request());
+                result.addSuccesses(1);
+            } catch (Exception e) {
+                result.addError(row.rowNumber(), e.getMessage());
+            }
+        }
     }
 
-    private ApplicationDTO processRecord(UUID userId, CSVRecord record) throws Exception {
+    private record PendingRow(int rowNumber, CreateApplicationRequest request) {
+    }
+
+    private CreateApplicationRequest toRequest(CSVRecord record, HeaderIndex headers,
+            FlexibleDateParser dateParser) {
         CreateApplicationRequest request = new CreateApplicationRequest();
 
         // Required fields
-        String company = getField(record, "company");
-        String role = getField(record, "role", "position", "job_title", "title");
+        String company = headers.get(record, Column.COMPANY);
+        String role = headers.get(record, Column.ROLE);
 
         if (company == null || company.trim().isEmpty()) {
             throw new IllegalArgumentException("Company is required");
@@ -81,82 +197,109 @@ public class CsvImportService {
         request.setRole(role.trim());
 
         // Optional fields
-        request.setLocation(getField(record, "location", "city", "loc"));
-        request.setJobUrl(getField(record, "job_url", "url", "link", "job_link"));
+        request.setLocation(headers.get(record, Column.LOCATION));
+        request.setJobUrl(headers.get(record, Column.JOB_URL));
 
         // Date applied - try multiple formats
-        String dateStr = getField(record, "date_applied", "applied_date", "date", "applied");
+        String dateStr = headers.get(record, Column.DATE_APPLIED);
         if (dateStr != null && !dateStr.trim().isEmpty()) {
-            request.setDateApplied(parseDate(dateStr));
+            // If no format matches, use current date
+            OffsetDateTime dateApplied = dateParser.parse(dateStr);
+            request.setDateApplied(dateApplied != null ? dateApplied : OffsetDateTime.now());
         } else {
             request.setDateApplied(OffsetDateTime.now());
         }
 
-        // Status
-        String status = getField(record, "status");
+        // Status and priority are resolved to enum values here, so a bad value
+        // fails its own row instead of the batch insert of its whole chunk
+        String status = headers.get(record, Column.STATUS);
         if (status != null && !status.trim().isEmpty()) {
-            request.setStatus(normalizeStatus(status.trim()));
+            request.setStatus(normalizeStatus(status.trim()).name());
         } else {
-            request.setStatus("APPLIED");
+            request.setStatus(ApplicationEntity.Status.APPLIED.name());
         }
 
         // Priority
-        String priority = getField(record, "priority");
+        String priority = headers.get(record, Column.PRIORITY);
         if (priority != null && !priority.trim().isEmpty()) {
-            request.setPriority(normalizePriority(priority.trim()));
+            request.setPriority(normalizePriority(priority.trim()).name());
         } else {
-            request.setPriority("MEDIUM");
+            request.setPriority(ApplicationEntity.Priority.MEDIUM.name());
         }
 
-        return applicationService.createApplication(userId, request);
+        return request;
     }
 
-    private String getField(CSVRecord record, String... possibleHeaders) {
-        for (String header : possibleHeaders) {
-            try {
-                if (record.isMapped(header)) {
-                    String value = record.get(header);
-                    if (value != null && !value.trim().isEmpty()) {
-                        return value;
-                    }
-                }
-            } catch (IllegalArgumentException e) {
-                // Header not found, try next
-            }
+    /**
+     * Application fields and the header names accepted for each, in order of
+     * preference
+     */
+    private enum Column {
+        COMPANY("company"),
+        ROLE("role", "position", "job_title", "title"),
+        LOCATION("location", "city", "loc"),
+        JOB_URL("job_url", "url", "link", "job_link"),
+        DATE_APPLIED("date_applied", "applied_date", "date", "applied"),
+        STATUS("status"),
+        PRIORITY("priority");
+
+        private final String[] aliases;
+
+        Column(String... aliases) {
+            this.aliases = aliases;
         }
-        return null;
     }
 
-    private OffsetDateTime parseDate(String dateStr) {
-        DateTimeFormatter[] formatters = {
-                DateTimeFormatter.ISO_OFFSET_DATE_TIME,
-                DateTimeFormatter.ISO_LOCAL_DATE_TIME,
-                DateTimeFormatter.ISO_LOCAL_DATE,
-                DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-                DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-                DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-                DateTimeFormatter.ofPattern("M/d/yyyy"),
-                DateTimeFormatter.ofPattern("d/M/yyyy")
-        };
-
-        for (DateTimeFormatter formatter : formatters) {
-            try {
-                if (formatter.toString().contains("DATE_TIME")) {
-                    return OffsetDateTime.parse(dateStr, formatter);
-                } else {
-                    LocalDate localDate = LocalDate.parse(dateStr, formatter);
-                    return localDate.atStartOfDay().atOffset(ZoneOffset.UTC);
-                }
-            } catch (DateTimeParseException e) {
-                // Try next formatter
+    /**
+     * Column positions of every field, resolved once from the file's header so
+     * rows are read by index
+     */
+    private static final class HeaderIndex {
+        private final int[][] positions;
+
+        private HeaderIndex(int[][] positions) {
+            this.positions = positions;
+        }
+
+        static HeaderIndex resolve(Map<String, Integer> headerMap) {
+            Map<String, Integer> byName = new HashMap<>();
+            if (headerMap != null) {
+                headerMap.forEach((name, position) -> byName.putIfAbsent(name.trim().toLowerCase(), position));
             }
+
+            Column[] columns = Column.values();
+            int[][] positions = new int[columns.length][];
+            for (Column column : columns) {
+                positions[column.ordinal()] = Arrays.stream(column.aliases)
+                        .map(byName::get)
+                        .filter(Objects::nonNull)
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+            return new HeaderIndex(positions);
         }
 
-        // If all else fails, use current date
-        return OffsetDateTime.now();
+        boolean has(Column column) {
+            return positions[column.ordinal()].length > 0;
+        }
+
+        /**
+         * First non-blank value among the field's columns, or null
+         */
+        String get(CSVRecord record, Column column) {
+            for (int position : positions[column.ordinal()]) {
+                if (position < record.size()) {
+                    String value = record.get(position);
+                    if (value != null && !value.isBlank()) {
+                        return value;
+                    }
+                }
+            }
+            return null;
+        }
     }
 
-    private String normalizeStatus(String status) {
+    private ApplicationEntity.Status normalizeStatus(String status) {
         String upper = status.toUpperCase().replace(" ", "_");
 
         // Map common variations to valid statuses
@@ -164,61 +307,59 @@ public class CsvImportService {
             case "APPLIED":
             case "SUBMITTED":
             case "APPLICATION_SUBMITTED":
-                return "APPLIED";
+                return ApplicationEntity.Status.APPLIED;
             case "INTERVIEW":
             case "INTERVIEWING":
             case "PHONE_SCREEN":
             case "SCREENING":
-                return "INTERVIEW";
+                return ApplicationEntity.Status.INTERVIEW;
             case "OFFER":
             case "OFFERED":
             case "OFFER_RECEIVED":
-                return "OFFER";
             case "ACCEPTED":
             case "HIRED":
-                return "ACCEPTED";
+                return ApplicationEntity.Status.OFFER;
             case "REJECTED":
             case "DECLINED":
             case "NOT_SELECTED":
-                return "REJECTED";
+                return ApplicationEntity.Status.REJECTED;
             case "WITHDRAWN":
             case "CANCELLED":
-                return "WITHDRAWN";
+                // No matching status; reported against the row
+                throw new IllegalArgumentException("Unsupported status: " + status);
             default:
                 // If it matches a valid status exactly, use it
                 try {
-                    ApplicationEntity.Status.valueOf(upper);
-                    return upper;
+                    return ApplicationEntity.Status.valueOf(upper);
                 } catch (IllegalArgumentException e) {
                     // Default to APPLIED if unknown
-                    return "APPLIED";
+                    return ApplicationEntity.Status.APPLIED;
                 }
         }
     }
 
-    private String normalizePriority(String priority) {
+    private ApplicationEntity.Priority normalizePriority(String priority) {
         String upper = priority.toUpperCase();
 
         switch (upper) {
             case "LOW":
             case "L":
             case "1":
-                return "LOW";
+                return ApplicationEntity.Priority.LOW;
             case "MEDIUM":
             case "MED":
             case "M":
             case "2":
-                return "MEDIUM";
+                return ApplicationEntity.Priority.MEDIUM;
             case "HIGH":
             case "H":
             case "3":
-                return "HIGH";
+                return ApplicationEntity.Priority.HIGH;
             default:
                 try {
-                    ApplicationEntity.Priority.valueOf(upper);
-                    return upper;
+                    return ApplicationEntity.Priority.valueOf(upper);
                 } catch (IllegalArgumentException e) {
-                    return "MEDIUM";
+                    return ApplicationEntity.Priority.MEDIUM;
                 }
         }
     }
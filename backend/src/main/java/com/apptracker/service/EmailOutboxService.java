@@ -0,0 +1,172 @@
+package com.apptracker.service;
+
+import com.apptracker.model.EmailOutboxMessage;
+import com.apptracker.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Crash-safe email delivery. Services enqueue emails inside their own
+ * transaction, so an email exists exactly when the change that triggered it
+ * was committed. A poller claims due rows with SELECT ... FOR UPDATE SKIP
+ * LOCKED and marks them SENDING under a lease in one short transaction, hands
+ * them to EmailService, and settles each row in its own transaction when its
+ * send completes. No connection or row lock is held while SMTP runs, and
+ * several backend instances can share the work without sending anything twice.
+ * Retries with backoff happen here; EmailService makes a single attempt.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.lease-minutes:10}")
+    private long leaseMinutes;
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository, EmailService emailService,
+            PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Stores an email for delivery as part of the caller's transaction
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String htmlContent) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setHtmlBody(htmlContent);
+        outboxRepository.save(message);
+    }
+
+    /**
+     * Claims a batch of due emails and hands them to EmailService without
+     * waiting for them. A message whose outcome is never recorded (the instance
+     * died mid-send) is claimed again once its lease runs out; the lease must
+     * outlast the longest time a message can spend queued and sending.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void dispatchPending() {
+        List<EmailOutboxMessage> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        for (EmailOutboxMessage message : claimed) {
+            UUID id = message.getId();
+            OffsetDateTime lease = message.getLeaseExpiresAt();
+            emailService.sendEmailAsync(message.getRecipient(), message.getSubject(), message.getHtmlBody())
+                    .whenComplete((ignored, error) -> settle(id, lease, error));
+        }
+        logger.info("Email outbox: dispatched {} messages", claimed.size());
+    }
+
+    /**
+     * Runs daily at 3 AM to delete delivered emails older than 7 days
+     */
+    @Scheduled(cron = "0 0 3 * * *")
+    @Transactional
+    public void purgeSentMessages() {
+        int deleted = outboxRepository.deleteSentBefore(OffsetDateTime.now().minusDays(7));
+        logger.info("Email outbox: purged {} sent messages", deleted);
+    }
+
+    /**
+     * Marks due messages SENDING under a fresh lease and returns them
+     */
+    private List<EmailOutboxMessage> claim() {
+        OffsetDateTime now = OffsetDateTime.now();
+        // Millisecond precision survives the round trip through timestamptz
+        OffsetDateTime lease = now.plusMinutes(leaseMinutes).truncatedTo(ChronoUnit.MILLIS);
+
+        List<EmailOutboxMessage> claimed = new ArrayList<>();
+        for (EmailOutboxMessage message : outboxRepository.claimDue(batchSize)) {
+            if (message.getStatus() == EmailOutboxMessage.Status.SENDING) {
+                // Whoever was sending it stopped before recording the outcome;
+                // it may have gone out, so count the attempt and back off
+                recordFailure(message, "Lease expired before the send was confirmed", now);
+                continue;
+            }
+            message.setStatus(EmailOutboxMessage.Status.SENDING);
+            message.setLeaseExpiresAt(lease);
+            claimed.add(message);
+        }
+        return claimed;
+    }
+
+    /**
+     * Records the outcome of a send, unless the lease ran out and the message
+     * was claimed again in the meantime
+     */
+    private void settle(UUID id, OffsetDateTime lease, Throwable error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                EmailOutboxMessage message = outboxRepository.findLockedById(id).orElse(null);
+                if (message == null || message.getStatus() != EmailOutboxMessage.Status.SENDING
+                        || message.getLeaseExpiresAt() == null || !lease.isEqual(message.getLeaseExpiresAt())) {
+                    logger.warn("Email outbox: message {} was reclaimed before its send completed", id);
+                    return;
+                }
+
+                OffsetDateTime now = OffsetDateTime.now();
+                message.setLeaseExpiresAt(null);
+                if (error == null) {
+                    message.setStatus(EmailOutboxMessage.Status.SENT);
+                    message.setSentAt(now);
+                } else if (error instanceof RejectedExecutionException) {
+                    // Never reached SMTP; try again next poll without using an attempt
+                    message.setStatus(EmailOutboxMessage.Status.PENDING);
+                    message.setNextAttemptAt(now);
+                } else {
+                    recordFailure(message, error.getMessage(), now);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The row stays SENDING and is picked up again when its lease runs out
+            logger.error("Email outbox: could not record the outcome of message {}", id, e);
+        }
+    }
+
+    private void recordFailure(EmailOutboxMessage message, String error, OffsetDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error);
+        message.setLeaseExpiresAt(null);
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.FAILED);
+            logger.error("Email outbox: giving up on message {} to {} after {} attempts",
+                    message.getId(), message.getRecipient(), attempts);
+        } else {
+            // 1, 2, 4, 8... minutes between attempts
+            message.setStatus(EmailOutboxMessage.Status.PENDING);
+            message.setNextAttemptAt(now.plusMinutes(1L << (attempts - 1)));
+        }
+    }
+}
@@ -1,41 +1,221 @@
 package com.apptracker.service;
 
 import com.apptracker.util.AppLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbound email pipeline. Messages are put on a bounded in-memory queue and
+ * delivered by a small pool of workers, so callers never wait on SMTP. Each
+ * worker drains the queue in batches and sends a batch over a single SMTP
+ * connection. Each message gets one attempt; retrying is left to
+ * EmailOutboxService, which knows whether a message may be sent again.
+ */
 @Service
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.mail.username}")
     private String supportEmail;
 
-    public EmailService(JavaMailSender mailSender) {
+    @Value("${app.mail.workers:2}")
+    private int workerCount;
+
+    @Value("${app.mail.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${app.mail.batch-size:20}")
+    private int batchSize;
+
+    private BlockingQueue<OutboundEmail> queue;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    private Timer sendTimer;
+    private Counter sentCounter;
+    private Counter failedCounter;
+
+    public EmailService(JavaMailSender mailSender, MeterRegistry meterRegistry) {
         this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
     }
 
-    public void sendEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        sendTimer = Timer.builder("apptracker.mail.send")
+                .description("Time spent delivering one batch of emails over SMTP")
+                .register(meterRegistry);
+        sentCounter = Counter.builder("apptracker.mail.sent").register(meterRegistry);
+        failedCounter = Counter.builder("apptracker.mail.failed").register(meterRegistry);
+        Gauge.builder("apptracker.mail.queue.depth", queue, BlockingQueue::size)
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "email-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drainQueue);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        if (!queue.isEmpty()) {
+            AppLogger.warn("Shutting down with {} unsent emails", queue.size());
+        }
+    }
 
-            helper.setFrom(supportEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
+    /**
+     * Queues an email for delivery. The returned future completes once the
+     * message was handed to the SMTP server, or exceptionally when sending
+     * failed. If the queue is full the future fails at once with a
+     * RejectedExecutionException, so callers never block on SMTP.
+     */
+    public CompletableFuture<Void> sendEmailAsync(String to, String subject, String htmlContent) {
+        OutboundEmail email = new OutboundEmail(to, subject, htmlContent, new CompletableFuture<>());
 
-            mailSender.send(mimeMessage);
-            AppLogger.info("Email sent successfully to {}", to);
-        } catch (MessagingException e) {
-            AppLogger.error("Failed to send email to {}", to, e);
+        if (!running || !queue.offer(email)) {
+            AppLogger.warn("Email queue unavailable, rejecting email to {}", to);
+            email.result().completeExceptionally(new RejectedExecutionException("Email queue is full"));
         }
+        return email.result();
     }
 
+    private void drainQueue() {
+        List<OutboundEmail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OutboundEmail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                AppLogger.error("Unexpected error in email worker", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Sends a batch and fails the futures of the messages that didn't go out
+     */
+    private void deliver(List<OutboundEmail> batch) {
+        for (OutboundEmail email : sendBatch(batch)) {
+            failedCounter.increment();
+            email.result().completeExceptionally(new MailSendException("Failed to send email to " + email.to()));
+        }
+    }
+
+    /**
+     * Sends the given emails over one SMTP connection
+     *
+     * @return the emails that failed to send
+     */
+    private List<OutboundEmail> sendBatch(List<OutboundEmail> emails) {
+        List<OutboundEmail> prepared = new ArrayList<>(emails.size());
+        List<MimeMessage> messages = new ArrayList<>(emails.size());
+
+        for (OutboundEmail email : emails) {
+            try {
+                messages.add(buildMessage(email));
+                prepared.add(email);
+            } catch (MessagingException e) {
+                // Malformed message, retrying will not help
+                failedCounter.increment();
+                AppLogger.error("Failed to build email to {}", email.to(), e);
+                email.result().completeExceptionally(e);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+
+        List<OutboundEmail> failed = new ArrayList<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (int i = 0; i < messages.size(); i++) {
+                if (failedMessages.isEmpty() || failedMessages.containsKey(messages.get(i))) {
+                    failed.add(prepared.get(i));
+                }
+            }
+            AppLogger.warn("Failed to send {} of {} emails", failed.size(), messages.size(), e);
+        } catch (MailException e) {
+            failed.addAll(prepared);
+            AppLogger.warn("Failed to send batch of {} emails", messages.size(), e);
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        for (OutboundEmail email : prepared) {
+            if (!failed.contains(email)) {
+                sentCounter.increment();
+                AppLogger.info("Email sent successfully to {}", email.to());
+                email.result().complete(null);
+            }
+        }
+        return failed;
+    }
+
+    private MimeMessage buildMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+
+        helper.setFrom(supportEmail);
+        helper.setTo(email.to());
+        helper.setSubject(email.subject());
+        helper.setText(email.htmlContent(), true);
+        return mimeMessage;
+    }
+
+    private record OutboundEmail(String to, String subject, String htmlContent, CompletableFuture<Void> result) {
+    }
 }
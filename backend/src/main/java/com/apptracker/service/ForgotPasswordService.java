@@ -6,6 +6,7 @@ import com.apptracker.model.PasswordResetToken;
 import com.apptracker.model.User;
 import com.apptracker.repository.PasswordResetTokenRepository;
 import com.apptracker.repository.UserRepository;
+import com.apptracker.util.HtmlTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,21 +21,66 @@ public class ForgotPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     private static final long TOKEN_EXPIRY_HOURS = 1;
 
+    private static final HtmlTemplate PASSWORD_RESET_EMAIL = HtmlTemplate.compile(
+            """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #2563eb; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                    .content { background-color: #f9fafb; padding: 20px; border-radius: 0 0 5px 5px; }
+                    .button { display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; }
+                    .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
+                    .warning { background-color: #fef3c7; padding: 10px; border-left: 4px solid #f59e0b; margin: 20px 0; border-radius: 3px; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Password Reset Request</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hi {{userName}},</p>
+                        <p>We received a request to reset your password. If you didn't make this request, you can ignore this email.</p>
+                        <p>Click the button below to reset your password:</p>
+                        <div style="text-align: center;">
+                            <a href="{{resetLink}}" style="display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; font-weight: bold;">Reset Password</a>                                            </div>
+                        </div>
+                        <p>Or copy and paste this link in your browser:</p>
+                        <p style="word-break: break-all; font-size: 12px; color: #666;">{{resetLink}}</p>
+                        <div class="warning">
+                            <strong>This link expires in 1 hour.</strong> After that, you'll need to request a new password reset.
+                        </div>
+                        <div class="footer">
+                            <p>If you have any questions, please contact our support team.</p>
+                            <p>&copy; 2024 AppTracker. All rights reserved.</p>
+                        </div>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """,
+            "userName", "resetLink");
+
     @Value("${app.frontend-url}")
     private String frontendBaseUrl;
 
     public ForgotPasswordService(UserRepository userRepository,
             PasswordResetTokenRepository tokenRepository,
-            EmailService emailService) {
+            EmailOutboxService emailOutboxService) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
     }
 
+    @Transactional
     public void requestPasswordReset(String email) {
         if (email == null || email.trim().isEmpty()) {
             throw new BadRequestException("Email is required");
@@ -135,7 +181,7 @@ public class ForgotPasswordService {
         String resetLink = String.format("%s/reset-password?token=%s", frontendBaseUrl, token);
         String emailBody = buildPasswordResetEmail(user.getName(), resetLink);
 
-        emailService.sendEmail(
+        emailOutboxService.enqueue(
                 user.getEmail(),
                 "Password Reset Request",
                 emailBody);
@@ -145,48 +191,6 @@ public class ForgotPasswordService {
      * Build HTML email body for password reset
      */
     private String buildPasswordResetEmail(String userName, String resetLink) {
-        return String.format(
-                """
-                        <!DOCTYPE html>
-                        <html>
-                        <head>
-                            <meta charset="UTF-8">
-                            <style>
-                                body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                                .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                                .header { background-color: #2563eb; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
-                                .content { background-color: #f9fafb; padding: 20px; border-radius: 0 0 5px 5px; }
-                                .button { display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; }
-                                .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
-                                .warning { background-color: #fef3c7; padding: 10px; border-left: 4px solid #f59e0b; margin: 20px 0; border-radius: 3px; }
-                            </style>
-                        </head>
-                        <body>
-                            <div class="container">
-                                <div class="header">
-                                    <h1>Password Reset Request</h1>
-                                </div>
-                                <div class="content">
-                                    <p>Hi %s,</p>
-                                    <p>We received a request to reset your password. If you didn't make this request, you can ignore this email.</p>
-                                    <p>Click the button below to reset your password:</p>
-                                    <div style="text-align: center;">
-                                        <a href="%s" style="display: inline-block; background-color: #2563eb; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; margin: 20px 0; font-weight: bold;">Reset Password</a>                                            </div>
-                                    </div>
-                                    <p>Or copy and paste this link in your browser:</p>
-                                    <p style="word-break: break-all; font-size: 12px; color: #666;">%s</p>
-                                    <div class="warning">
-                                        <strong>This link expires in 1 hour.</strong> After that, you'll need to request a new password reset.
-                                    </div>
-                                    <div class="footer">
-                                        <p>If you have any questions, please contact our support team.</p>
-                                        <p>&copy; 2024 AppTracker. All rights reserved.</p>
-                                    </div>
-                                </div>
-                            </div>
-                        </body>
-                        </html>
-                        """,
-                userName, resetLink, resetLink);
+        return PASSWORD_RESET_EMAIL.render(userName, resetLink);
     }
 }
@@ -1,34 +1,230 @@
 package com.apptracker.service;
 
 import com.apptracker.dto.*;
-
+import com.apptracker.exception.BadRequestException;
+import com.apptracker.service.extractor.ExtractorRegistry;
+import com.apptracker.service.extractor.JobPageExtractor;
+import com.apptracker.service.extractor.PageExtractor;
+import com.apptracker.util.BoundedTtlCache;
+import com.apptracker.util.TextNormalizer;
+import com.apptracker.util.UrlNormalizer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.Jsoup;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    /** Most URLs accepted by one batch import request */
+    public static final int MAX_BATCH_URLS = 25;
+
+    private static final String BUSY_WARNING = "Too many imports in progress. Please try again shortly.";
+
+    private static final String TIMEOUT_WARNING = "Timed out fetching this page. Please try again.";
+
+    private final PageFetcher pageFetcher;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final ExtractorRegistry extractorRegistry;
+
+    @Value("${app.import.http.workers:8}")
+    private int workerCount;
+
+    /** Batch URLs waiting for a worker; beyond this they come back busy */
+    @Value("${app.import.http.queue-capacity:100}")
+    private int queueCapacity;
+
+    /** Longest a batch import waits for all of its URLs */
+    @Value("${app.import.http.batch-timeout-ms:30000}")
+    private long batchTimeoutMs;
+
+    @Value("${app.import.cache.max-entries:2000}")
+    private int cacheMaxEntries;
+
+    @Value("${app.import.cache.ttl-minutes:360}")
+    private long cacheTtlMinutes;
+
+    @Value("${app.import.cache.negative-ttl-minutes:5}")
+    private long negativeCacheTtlMinutes;
+
+    private ThreadPoolExecutor workers;
+
+    /** Parsed postings by normalized URL; shared by all users since pages are public */
+    private BoundedTtlCache<String, ImportResponse> resultCache;
+
+    /** Fetches in progress, so concurrent imports of one URL share a single fetch */
+    private final Map<String, CompletableFuture<ImportResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    public ImportService(PageFetcher pageFetcher, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+            ExtractorRegistry extractorRegistry) {
+        this.pageFetcher = pageFetcher;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.extractorRegistry = extractorRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        resultCache = new BoundedTtlCache<>(cacheMaxEntries);
+        cacheHits = Counter.builder("apptracker.import.cache.requests").tag("result", "hit")
+                .register(meterRegistry);
+        cacheMisses = Counter.builder("apptracker.import.cache.requests").tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("apptracker.import.cache.size", resultCache, BoundedTtlCache::size)
+                .register(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "url-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
     public ImportResponse importApplication(UUID userId, ImportRequest importRequest) {
-        String url = importRequest.getExternalSource();
+        return importUrl(importRequest.getExternalSource());
+    }
+
+    /**
+     * Imports several postings at once. Pages are fetched in parallel, within
+     * PageFetcher's global and per-host limits; results keep the order of urls.
+     * URLs not done within batch-timeout-ms are cancelled and come back with a
+     * timeout warning; URLs that don't fit in the work queue come back busy.
+     */
+    public List<ImportResponse> importApplications(UUID userId, List<String> urls) {
+        if (urls == null || urls.isEmpty()) {
+            throw new BadRequestException("No URLs to import");
+        }
+        if (urls.size() > MAX_BATCH_URLS) {
+            throw new BadRequestException("At most " + MAX_BATCH_URLS + " URLs can be imported at once");
+        }
+
+        List<Future<ImportResponse>> futures = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            try {
+                futures.add(workers.submit(() -> importUrl(url)));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.completedFuture(warningFor(url, BUSY_WARNING)));
+            }
+        }
 
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMs);
+        List<ImportResponse> results = new ArrayList<>(urls.size());
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    logger.warn("Batch import timed out waiting for {}", urls.get(i));
+                    results.add(warningFor(urls.get(i), TIMEOUT_WARNING));
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+            }
+        } finally {
+            // Nobody is waiting for these any more: queued ones never start and
+            // running fetches are interrupted, freeing their fetch slots
+            for (Future<ImportResponse> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    private ImportResponse importUrl(String url) {
         // Security validation
         if (!isValidUrl(url)) {
-            ImportResponse response = new ImportResponse();
-            response.setJobUrl(url);
-            response.addWarning("Invalid or unsafe URL");
-            return response;
+            return warningFor(url, "Invalid or unsafe URL");
+        }
+
+        String key = UrlNormalizer.normalize(url);
+        ImportResponse cached = resultCache.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return forUrl(cached, url);
+        }
+        cacheMisses.increment();
+
+        CompletableFuture<ImportResponse> fetch = new CompletableFuture<>();
+        CompletableFuture<ImportResponse> existing = inFlight.putIfAbsent(key, fetch);
+        if (existing != null) {
+            return forUrl(existing.join(), url);
+        }
+
+        try {
+            ImportResponse result = parseWebpageData(url);
+            if (!result.getWarnings().contains(BUSY_WARNING) && !result.getWarnings().contains(TIMEOUT_WARNING)) {
+                // Nothing extracted, usually a failed fetch: remember it briefly so a
+                // blocked or broken page isn't hammered, but retry soon
+                long ttlMinutes = result.getConfidence() > 0 ? cacheTtlMinutes : negativeCacheTtlMinutes;
+                resultCache.put(key, result, System.currentTimeMillis() + ttlMinutes * 60_000);
+            }
+            fetch.complete(result);
+            return forUrl(result, url);
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, fetch);
         }
+    }
 
-        return parseWebpageData(url);
+    private static ImportResponse warningFor(String url, String warning) {
+        ImportResponse response = new ImportResponse();
+        response.setJobUrl(url);
+        response.addWarning(warning);
+        return response;
+    }
+
+    /**
+     * Copy of a shared result, so callers never mutate the cached instance
+     */
+    private ImportResponse forUrl(ImportResponse result, String url) {
+        ImportResponse copy = new ImportResponse(result);
+        copy.setJobUrl(url);
+        return copy;
     }
 
     private boolean isValidUrl(String urlString) {
@@ -55,62 +251,80 @@ public class ImportService {
                 return false;
             }
 
-            // Block localhost and private IPs
-            if (host.equals("localhost") ||
-                    host.equals("127.0.0.1") ||
-                    host.startsWith("10.") ||
-                    host.startsWith("192.168.") ||
-                    host.startsWith("172.16.") ||
-                    host.startsWith("172.17.") ||
-                    host.startsWith("172.18.") ||
-                    host.startsWith("172.19.") ||
-                    host.startsWith("172.20.") ||
-                    host.startsWith("172.21.") ||
-                    host.startsWith("172.22.") ||
-                    host.startsWith("172.23.") ||
-                    host.startsWith("172.24.") ||
-                    host.startsWith("172.25.") ||
-                    host.startsWith("172.26.") ||
-                    host.startsWith("172.27.") ||
-                    host.startsWith("172.28.") ||
-                    host.startsWith("172.29.") ||
-                    host.startsWith("172.30.") ||
-                    host.startsWith("172.31.")) {
-                return false;
-            }
-
-            return true;
+            return isPublicHost(host);
         } catch (URISyntaxException e) {
             return false;
         }
     }
 
+    /**
+     * False for localhost and private network addresses, so imports can't be
+     * used to reach internal services. Package-private so tests can fetch from
+     * a local stub server.
+     */
+    boolean isPublicHost(String host) {
+        return !(host.equals("localhost") ||
+                host.equals("127.0.0.1") ||
+                host.startsWith("10.") ||
+                host.startsWith("192.168.") ||
+                host.startsWith("172.16.") ||
+                host.startsWith("172.17.") ||
+                host.startsWith("172.18.") ||
+                host.startsWith("172.19.") ||
+                host.startsWith("172.20.") ||
+                host.startsWith("172.21.") ||
+                host.startsWith("172.22.") ||
+                host.startsWith("172.23.") ||
+                host.startsWith("172.24.") ||
+                host.startsWith("172.25.") ||
+                host.startsWith("172.26.") ||
+                host.startsWith("172.27.") ||
+                host.startsWith("172.28.") ||
+                host.startsWith("172.29.") ||
+                host.startsWith("172.30.") ||
+                    host.startsWith("172.31."));
+    }
+
     private ImportResponse parseWebpageData(String url) {
+        URI uri = URI.create(url);
+        JobPageExtractor extractor = extractorRegistry.find(uri.getHost());
+
+        // Page extractors share the fetched page with the generic strategies below
+        PageExtractor pageExtractor = null;
+        if (extractor instanceof PageExtractor candidate && candidate.handles(uri)) {
+            pageExtractor = candidate;
+        } else if (extractor != null) {
+            ImportResponse siteResult = trySiteExtractor(extractor, url);
+            if (siteResult != null) {
+                return siteResult;
+            }
+        }
+
         ImportResponse finalResponse = new ImportResponse();
         finalResponse.setJobUrl(url);
 
         try {
-            Document doc = Jsoup.connect(url)
-                    .userAgent(
-                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .timeout(5000)
-                    .maxBodySize(1024 * 1024) // 1MB limit
-                    .followRedirects(true)
-                    .execute()
-                    .parse();
+            // A page extractor reads the body, so it needs the whole page
+            PageIndex page = pageFetcher.fetch(uri, pageExtractor == null);
+            if (pageExtractor != null) {
+                ImportResponse siteResult = siteResult(pageExtractor.parse(page, uri), url);
+                if (siteResult != null) {
+                    return siteResult;
+                }
+            }
 
             // Try all three strategies and collect results
             ImportResponse jsonLdResult = new ImportResponse();
             jsonLdResult.setJobUrl(url);
-            int jsonLdConfidence = tryJsonLdParsing(doc, jsonLdResult);
+            int jsonLdConfidence = tryJsonLdParsing(page, jsonLdResult);
 
             ImportResponse openGraphResult = new ImportResponse();
             openGraphResult.setJobUrl(url);
-            int openGraphConfidence = tryOpenGraphParsing(doc, openGraphResult);
+            int openGraphConfidence = tryOpenGraphParsing(page, openGraphResult);
 
             ImportResponse htmlResult = new ImportResponse();
             htmlResult.setJobUrl(url);
-            int htmlConfidence = tryHtmlParsing(doc, htmlResult);
+            int htmlConfidence = tryHtmlParsing(page, htmlResult);
 
             // Pick the strategy with highest confidence as base
             ImportResponse bestResult;
@@ -189,6 +403,13 @@ public class ImportService {
 
             return finalResponse;
 
+        } catch (PageFetcher.BusyException e) {
+            finalResponse.addWarning(BUSY_WARNING);
+            return finalResponse;
+        } catch (java.net.http.HttpTimeoutException | InterruptedIOException e) {
+            // Interrupted when a batch gave up on this URL; not worth caching
+            finalResponse.addWarning(TIMEOUT_WARNING);
+            return finalResponse;
         } catch (java.io.IOException e) {
             finalResponse.addWarning("Could not fetch the page. Site may block automated access or require login.");
             return finalResponse;
@@ -198,13 +419,52 @@ public class ImportService {
         }
     }
 
-    private int tryJsonLdParsing(Document doc, ImportResponse response) {
+    /**
+     * Uses the extractor registered for the URL's host. Returns null when it
+     * couldn't read the posting, so the generic strategies run instead.
+     */
+    private ImportResponse trySiteExtractor(JobPageExtractor extractor, String url) {
+        ImportResponse response;
+        try {
+            response = extractor.extract(URI.create(url));
+        } catch (PageFetcher.BusyException e) {
+            return warningFor(url, BUSY_WARNING);
+        } catch (java.net.http.HttpTimeoutException | InterruptedIOException e) {
+            return warningFor(url, TIMEOUT_WARNING);
+        } catch (Exception e) {
+            logger.debug("{} failed for {}, falling back to page parsing", extractor.getClass().getSimpleName(),
+                    url, e);
+            return null;
+        }
+        return siteResult(response, url);
+    }
+
+    /**
+     * Cleans up an extractor's result, or returns null if it is missing the
+     * role or company
+     */
+    private ImportResponse siteResult(ImportResponse response, String url) {
+        if (response == null || response.getRole() == null || response.getCompany() == null) {
+            return null;
+        }
+
+        response.setJobUrl(url);
+        response.setCompany(cleanText(response.getCompany()));
+        response.setRole(cleanText(response.getRole()));
+        if (response.getLocation() != null) {
+            response.setLocation(cleanText(response.getLocation()));
+        }
+        if (response.getLocation() == null || response.getLocation().isEmpty()) {
+            response.addWarning("Location not detected");
+        }
+        return response;
+    }
+
+    private int tryJsonLdParsing(PageIndex page, ImportResponse response) {
         try {
             // Find JSON-LD script tags
-            for (Element script : doc.select("script[type='application/ld+json']")) {
-                String jsonText = script.html();
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(jsonText);
+            for (String jsonText : page.jsonLdBlocks()) {
+                JsonNode root = objectMapper.readTree(jsonText);
 
                 // Handle both single object and array
                 JsonNode jobPosting = null;
@@ -279,32 +539,32 @@ public class ImportService {
         return 0;
     }
 
-    private int tryOpenGraphParsing(Document doc, ImportResponse response) {
+    private int tryOpenGraphParsing(PageIndex page, ImportResponse response) {
         int fieldsFound = 0;
 
         // og:title
-        String title = getMetaContent(doc, "og:title");
+        String title = page.meta("og:title");
         if (title != null && !title.isEmpty()) {
             response.setRole(cleanText(title));
             fieldsFound++;
         }
 
         // og:site_name for company
-        String siteName = getMetaContent(doc, "og:site_name");
+        String siteName = page.meta("og:site_name");
         if (siteName != null && !siteName.isEmpty()) {
             response.setCompany(cleanText(siteName));
             fieldsFound++;
         }
 
         // og:description
-        String desc = getMetaContent(doc, "og:description");
+        String desc = page.meta("og:description");
         if (desc != null && !desc.isEmpty()) {
             response.setDescription(desc.length() > 5000 ? desc.substring(0, 5000) : desc);
         }
 
         // twitter:title as fallback
         if (response.getRole() == null || response.getRole().isEmpty()) {
-            String twitterTitle = getMetaContent(doc, "twitter:title");
+            String twitterTitle = page.meta("twitter:title");
             if (twitterTitle != null && !twitterTitle.isEmpty()) {
                 response.setRole(cleanText(twitterTitle));
                 fieldsFound++;
@@ -314,11 +574,11 @@ public class ImportService {
         return fieldsFound > 0 ? 60 : 0;
     }
 
-    private int tryHtmlParsing(Document doc, ImportResponse response) {
+    private int tryHtmlParsing(PageIndex page, ImportResponse response) {
         int fieldsFound = 0;
 
         // Try to extract from title
-        String pageTitle = doc.title();
+        String pageTitle = page.title();
         if (pageTitle != null && !pageTitle.isEmpty()) {
             // Common patterns: "Job Title - Company" or "Job Title | Company"
             if (pageTitle.contains(" - ")) {
@@ -345,20 +605,16 @@ public class ImportService {
 
         // Try h1 for job title (only if not already found)
         if (response.getRole() == null || response.getRole().isEmpty()) {
-            Element h1 = doc.select("h1").first();
+            String h1 = page.firstH1Text();
             if (h1 != null) {
-                response.setRole(cleanText(h1.text()));
+                response.setRole(cleanText(h1));
                 fieldsFound++;
             }
         }
 
         // Common ATS patterns for company (only if not already found)
         if (response.getCompany() == null || response.getCompany().isEmpty()) {
-            String company = trySelectors(doc,
-                    ".company-name",
-                    ".employer-name",
-                    "[data-company]",
-                    ".topcard__org-name");
+            String company = page.candidateText(PageIndex.Candidate.Kind.COMPANY);
             if (company != null) {
                 response.setCompany(cleanText(company));
                 fieldsFound++;
@@ -366,11 +622,7 @@ public class ImportService {
         }
 
         // Common patterns for location
-        String location = trySelectors(doc,
-                ".location",
-                ".job-location",
-                "[data-location]",
-                ".topcard__flavor--bullet");
+        String location = page.candidateText(PageIndex.Candidate.Kind.LOCATION);
         if (location != null) {
             response.setLocation(cleanText(location));
             fieldsFound++;
@@ -379,39 +631,8 @@ public class ImportService {
         return fieldsFound > 0 ? 30 : 0;
     }
 
-    private String getMetaContent(Document doc, String property) {
-        var element = doc.select("meta[property=" + property + "]").first();
-        if (element == null) {
-            element = doc.select("meta[name=" + property + "]").first();
-        }
-        return element != null ? element.attr("content") : null;
-    }
-
-    private String trySelectors(Document doc, String... selectors) {
-        for (String selector : selectors) {
-            try {
-                var element = doc.select(selector).first();
-                if (element != null) {
-                    String text = element.text();
-                    if (text != null && !text.trim().isEmpty()) {
-                        return text.trim();
-                    }
-                }
-            } catch (Exception e) {
-                // Continue to next selector
-            }
-        }
-        return null;
-    }
-
     private String cleanText(String text) {
-        if (text == null)
-            return "";
-        return text.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("[\\n\\r]+", " ")
-                .replaceAll("\\s*\\([^)]*\\)\\s*", " ")
-                .trim();
+        return TextNormalizer.collapseWhitespace(text, true);
     }
 
 }
\ No newline at end of file
@@ -30,7 +30,7 @@ public class NoteService {
     @Transactional
     public Note createNote(UUID userId, UUID appId, CreateNoteRequest request) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
 
         Note note = new Note();
         note.setApplicationId(appId);
@@ -50,7 +50,7 @@ public class NoteService {
 
     public List<Note> getNotes(UUID userId, UUID appId) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         return noteRepository.findByApplicationIdOrderByCreatedAtDesc(appId);
     }
 
@@ -58,7 +58,7 @@ public class NoteService {
         Note note = noteRepository.findById(noteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Note not found"));
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         noteRepository.delete(note);
     }
 }
@@ -0,0 +1,374 @@
+package com.apptracker.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fetches job posting pages through the shared HttpClient. Concurrent fetches
+ * are capped globally and per host, so a batch import can't open dozens of
+ * connections to one job board or exhaust the server's threads.
+ */
+@Service
+public class PageFetcher {
+
+    private static final String USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    /**
+     * How much of a page without a charset header is searched for a meta
+     * charset. HTML5 puts it in the first 1024 bytes; older pages often have
+     * it later in the head.
+     */
+    private static final int CHARSET_SNIFF_BYTES = 4096;
+
+    /** meta charset="..." and the charset= in http-equiv Content-Type */
+    private static final Pattern META_CHARSET = Pattern.compile("(?i)<meta[^>]*?charset\\s*=\\s*[\"']?\\s*([\\w.:-]+)");
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.import.http.max-concurrent:16}")
+    private int maxConcurrent;
+
+    @Value("${app.import.http.max-per-host:4}")
+    private int maxPerHost;
+
+    @Value("${app.import.http.timeout-ms:5000}")
+    private long timeoutMs;
+
+    /** Time allowed for reading the body once the headers have arrived */
+    @Value("${app.import.http.body-timeout-ms:10000}")
+    private long bodyTimeoutMs;
+
+    @Value("${app.import.http.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    /** Job board APIs can list a whole board, so they get a larger cap */
+    @Value("${app.import.http.max-json-bytes:8388608}")
+    private int maxJsonBytes;
+
+    private Semaphore globalPermits;
+
+    /**
+     * One semaphore per host ever fetched. Idle entries are kept: removing
+     * them races with computeIfAbsent and can hand two threads different
+     * semaphores for one host. The map is bounded by the hosts users import
+     * from, a few bytes each.
+     */
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /** Closes bodies that are still being read when their deadline passes */
+    private ScheduledExecutorService deadlines;
+
+    public PageFetcher(HttpClient httpClient, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void init() {
+        globalPermits = new Semaphore(maxConcurrent);
+        deadlines = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "page-fetch-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        deadlines.shutdownNow();
+    }
+
+    /**
+     * Streams a page into a PageIndex, reading at most max-body-bytes and
+     * stopping as soon as the index has what the import strategies need
+     *
+     * @throws IOException if the page can't be fetched, returns an error status,
+     *                     isn't read within body-timeout-ms
+     *                     ({@link HttpTimeoutException}), or no fetch slot
+     *                     frees up within the timeout ({@link BusyException})
+     */
+    public PageIndex fetch(URI uri) throws IOException {
+        return fetch(uri, true);
+    }
+
+    /**
+     * Like {@link #fetch(URI)}, but with stopEarly false the whole page (up to
+     * max-body-bytes) is read, for callers that need elements from the body
+     */
+    public PageIndex fetch(URI uri, boolean stopEarly) throws IOException {
+        return withPermits(uri, () -> {
+            HttpResponse<InputStream> response = send(uri, "text/html,application/xhtml+xml");
+
+            // Parsing reads the body as it arrives; closing it early (page parsed
+            // enough, or the size cap hit) abandons the rest of the download
+            String declared = response.headers().firstValue("Content-Type")
+                    .map(PageFetcher::charsetOf)
+                    .orElse(null);
+            return readBody(response, maxBodyBytes, body -> {
+                BufferedInputStream buffered = new BufferedInputStream(body, CHARSET_SNIFF_BYTES);
+                // Without a charset in the header the page's own meta tag decides, as in a browser
+                String charset = declared != null ? declared : sniffCharset(buffered);
+                return PageIndex.parse(new InputStreamReader(buffered, charset), response.uri().toString(), stopEarly);
+            });
+        });
+    }
+
+    /**
+     * Fetches a JSON document, such as a job board API response, within the
+     * same concurrency limits as pages
+     */
+    public JsonNode fetchJson(URI uri) throws IOException {
+        return withPermits(uri, () -> {
+            HttpResponse<InputStream> response = send(uri, "application/json");
+            return readBody(response, maxJsonBytes, body -> {
+                try (body) {
+                    return objectMapper.readTree(body);
+                }
+            });
+        });
+    }
+
+    @FunctionalInterface
+    private interface Fetch<T> {
+        T run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    /**
+     * Reads at most limit bytes of the body within body-timeout-ms. The
+     * request timeout only covers the headers, so a server that trickles or
+     * stalls the body would otherwise hold a fetch slot indefinitely.
+     */
+    private <T> T readBody(HttpResponse<InputStream> response, int limit, BodyReader<T> reader) throws IOException {
+        BoundedInputStream body = new BoundedInputStream(response.body(), limit,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(bodyTimeoutMs), response.uri());
+        // The check in read() can't fire while a read is blocked on a stalled
+        // connection; closing the stream wakes it up
+        ScheduledFuture<?> deadline = deadlines.schedule(body::expire, bodyTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            return reader.read(body);
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    private <T> T withPermits(URI uri, Fetch<T> fetch) throws IOException {
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+
+        acquire(globalPermits);
+        try {
+            Semaphore hostSemaphore = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxPerHost));
+            acquire(hostSemaphore);
+            try {
+                return fetch.run();
+            } finally {
+                hostSemaphore.release();
+            }
+        } finally {
+            globalPermits.release();
+        }
+    }
+
+    private HttpResponse<InputStream> send(URI uri, String accept) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", accept)
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + uri);
+        }
+
+        if (response.statusCode() >= 400) {
+            response.body().close();
+            throw new IOException("HTTP " + response.statusCode() + " fetching " + uri);
+        }
+        return response;
+    }
+
+    private void acquire(Semaphore semaphore) throws IOException {
+        try {
+            if (!semaphore.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new BusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to fetch a page");
+        }
+    }
+
+    /**
+     * Reports end of stream once limit bytes have been read, so oversized pages
+     * are parsed as truncated HTML, and fails reads once the deadline has
+     * passed
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private final long deadlineNanos;
+        private final URI uri;
+        private long remaining;
+        private volatile boolean expired;
+
+        BoundedInputStream(InputStream in, long limit, long deadlineNanos, URI uri) {
+            super(in);
+            this.remaining = limit;
+            this.deadlineNanos = deadlineNanos;
+            this.uri = uri;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            checkDeadline();
+            int b;
+            try {
+                b = super.read();
+            } catch (IOException e) {
+                throw expired ? timedOut() : e;
+            }
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            checkDeadline();
+            int n;
+            try {
+                n = super.read(buffer, offset, (int) Math.min(length, remaining));
+            } catch (IOException e) {
+                throw expired ? timedOut() : e;
+            }
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        /**
+         * Called from the deadline thread; closing the response stream
+         * unblocks a read waiting for data
+         */
+        void expire() {
+            expired = true;
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // The reader sees the timeout either way
+            }
+        }
+
+        private void checkDeadline() throws HttpTimeoutException {
+            if (expired || System.nanoTime() - deadlineNanos > 0) {
+                throw timedOut();
+            }
+        }
+
+        private HttpTimeoutException timedOut() {
+            return new HttpTimeoutException("Timed out reading " + uri);
+        }
+    }
+
+    /**
+     * No fetch slot freed up in time. Transient, unlike an error from the site.
+     */
+    public static class BusyException extends IOException {
+        public BusyException() {
+            super("Too many pages being fetched, try again shortly");
+        }
+    }
+
+    /**
+     * Charset from a byte order mark or a meta tag near the start of the page,
+     * else UTF-8. Leaves the stream at the start of the content, past any
+     * UTF-8 byte order mark.
+     */
+    private static String sniffCharset(BufferedInputStream in) throws IOException {
+        in.mark(CHARSET_SNIFF_BYTES);
+        byte[] head = in.readNBytes(CHARSET_SNIFF_BYTES);
+        in.reset();
+
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            in.skipNBytes(3);
+            return StandardCharsets.UTF_8.name();
+        }
+        if (head.length >= 2 && ((head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF
+                || (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE)) {
+            // The UTF-16 decoder reads the byte order from the mark itself
+            return StandardCharsets.UTF_16.name();
+        }
+
+        // Every charset a meta tag can name is ASCII-compatible up to the tag
+        Matcher meta = META_CHARSET.matcher(new String(head, StandardCharsets.ISO_8859_1));
+        if (meta.find()) {
+            String name = charsetOf("charset=" + meta.group(1));
+            if (name != null) {
+                return name;
+            }
+        }
+        return StandardCharsets.UTF_8.name();
+    }
+
+    private static String charsetOf(String contentType) {
+        for (String param : contentType.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                String name = trimmed.substring(8).replace("\"", "").trim();
+                try {
+                    return Charset.isSupported(name) ? name : null;
+                } catch (IllegalCharsetNameException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,224 @@
+package com.apptracker.service;
+
+import org.jsoup.internal.StringUtil;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the import strategies read from a job posting page, collected in
+ * one pass over the DOM: meta tags, JSON-LD blocks, the title, the first h1
+ * and the first element matching each known company/location selector.
+ *
+ * The page is indexed while it streams in. Once the head has been read and a
+ * JSON-LD JobPosting with a location has been seen, the strategies have what
+ * they need, so parsing and downloading stop there instead of building the
+ * whole DOM.
+ */
+public final class PageIndex {
+
+    /**
+     * Elements that commonly hold the company or location on ATS pages, in
+     * order of preference. Each is a class name or, with brackets, an attribute.
+     */
+    public enum Candidate {
+        COMPANY_NAME(Kind.COMPANY, "company-name"),
+        EMPLOYER_NAME(Kind.COMPANY, "employer-name"),
+        DATA_COMPANY(Kind.COMPANY, "[data-company]"),
+        TOPCARD_ORG_NAME(Kind.COMPANY, "topcard__org-name"),
+        LOCATION(Kind.LOCATION, "location"),
+        JOB_LOCATION(Kind.LOCATION, "job-location"),
+        DATA_LOCATION(Kind.LOCATION, "[data-location]"),
+        TOPCARD_FLAVOR_BULLET(Kind.LOCATION, "topcard__flavor--bullet");
+
+        public enum Kind {
+            COMPANY,
+            LOCATION
+        }
+
+        private final Kind kind;
+        private final String className;
+        private final String attribute;
+
+        Candidate(Kind kind, String selector) {
+            this.kind = kind;
+            boolean isAttribute = selector.startsWith("[");
+            this.className = isAttribute ? null : selector;
+            this.attribute = isAttribute ? selector.substring(1, selector.length() - 1) : null;
+        }
+
+        boolean matches(Element element) {
+            return className != null ? element.hasClass(className) : element.hasAttr(attribute);
+        }
+    }
+
+    private static final Candidate[] CANDIDATES = Candidate.values();
+
+    private final Map<String, String> metaByProperty = new HashMap<>();
+    private final Map<String, String> metaByName = new HashMap<>();
+    private final List<String> jsonLdBlocks = new ArrayList<>();
+    private final Element[] candidates = new Element[CANDIDATES.length];
+    private String title;
+    private Element firstH1;
+    private boolean headComplete;
+    private boolean hasJobPosting;
+    private boolean truncated;
+
+    private PageIndex() {
+    }
+
+    /**
+     * Parses the page from the reader. With stopEarly, parsing ends as soon as
+     * the head has been read and a JSON-LD JobPosting with a location has been
+     * seen. The reader is closed on return.
+     */
+    public static PageIndex parse(Reader reader, String baseUri, boolean stopEarly) throws IOException {
+        PageIndex index = new PageIndex();
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(reader, baseUri)) {
+            // Elements arrive as their end tag is read
+            Iterator<Element> elements = parser.iterator();
+            while (elements.hasNext()) {
+                index.visit(elements.next());
+                if (stopEarly && index.headComplete && index.hasJobPosting) {
+                    index.truncated = true;
+                    parser.stop();
+                    break;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return index;
+    }
+
+    private void visit(Element element) {
+        switch (element.normalName()) {
+            case "head":
+                headComplete = true;
+                break;
+            case "meta":
+                String content = element.attr("content");
+                if (element.hasAttr("property")) {
+                    metaByProperty.putIfAbsent(element.attr("property"), content);
+                }
+                if (element.hasAttr("name")) {
+                    metaByName.putIfAbsent(element.attr("name"), content);
+                }
+                break;
+            case "script":
+                if ("application/ld+json".equalsIgnoreCase(element.attr("type").trim())) {
+                    String json = element.data();
+                    jsonLdBlocks.add(json);
+                    // Cheap check; the block is only parsed later. Without a location
+                    // the body is still needed for the location selectors.
+                    hasJobPosting |= json.contains("JobPosting") && json.contains("jobLocation");
+                }
+                break;
+            case "title":
+                if (title == null) {
+                    title = StringUtil.normaliseWhitespace(element.text()).trim();
+                }
+                break;
+            case "h1":
+                if (firstH1 == null) {
+                    firstH1 = element;
+                }
+                break;
+            default:
+                break;
+        }
+
+        for (int i = 0; i < CANDIDATES.length; i++) {
+            if (CANDIDATES[i].matches(element) && (candidates[i] == null || isAncestor(element, candidates[i]))) {
+                candidates[i] = element;
+            }
+        }
+    }
+
+    /**
+     * Elements arrive at their end tag, so a match nested in an earlier match
+     * arrives first. An element arriving later that starts earlier in the page
+     * can only be an ancestor; keeping it gives the first match in document
+     * order, as doc.select(...).first() would.
+     */
+    private static boolean isAncestor(Element element, Element descendant) {
+        for (Element parent = descendant.parent(); parent != null; parent = parent.parent()) {
+            if (parent == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if parsing stopped before the end of the page because the head and
+     * a JobPosting were enough
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Content of the first meta tag with this property, else with this name
+     */
+    public String meta(String key) {
+        String content = metaByProperty.get(key);
+        return content != null ? content : metaByName.get(key);
+    }
+
+    public List<String> jsonLdBlocks() {
+        return jsonLdBlocks;
+    }
+
+    /**
+     * Page title, or an empty string if there is none
+     */
+    public String title() {
+        return title != null ? title : "";
+    }
+
+    /**
+     * Text of the first h1, or null if there is none
+     */
+    public String firstH1Text() {
+        return firstH1 != null ? firstH1.text() : null;
+    }
+
+    /**
+     * Trimmed text of the first element matching the candidate, or null if
+     * there is none or it is blank
+     */
+    public String candidateText(Candidate candidate) {
+        Element element = candidates[candidate.ordinal()];
+        if (element == null) {
+            return null;
+        }
+        String text = element.text().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * Trimmed text of the first non-blank candidate of the given kind, checking
+     * only the first element matching each candidate
+     */
+    public String candidateText(Candidate.Kind kind) {
+        for (int i = 0; i < CANDIDATES.length; i++) {
+            if (CANDIDATES[i].kind == kind && candidates[i] != null) {
+                String text = candidates[i].text().trim();
+                if (!text.isEmpty()) {
+                    return text;
+                }
+            }
+        }
+        return null;
+    }
+}
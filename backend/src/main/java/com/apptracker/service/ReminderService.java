@@ -4,6 +4,7 @@ import com.apptracker.dto.*;
 import com.apptracker.exception.ResourceNotFoundException;
 import com.apptracker.model.*;
 import com.apptracker.repository.*;
+import com.apptracker.util.HtmlTemplate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,31 +19,69 @@ import java.util.UUID;
 @Service
 public class ReminderService {
 
-    private final ApplicationRepository applicationRepository;
-
     private final ReminderRepository reminderRepository;
     private final ApplicationService applicationService;
     private final ActivityRepository activityRepository;
-    private final EmailService emailService;
-    private final UserRepository userRepository;
+    private final EmailOutboxService emailOutboxService;
     private static final Logger logger = LoggerFactory.getLogger(ReminderService.class);
 
+    private static final HtmlTemplate REMINDER_EMAIL = HtmlTemplate.compile(
+            """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #2563eb; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                    .content { background-color: #f9fafb; padding: 20px; border-radius: 0 0 5px 5px; }
+                    .info-box { background-color: white; border-left: 4px solid #2563eb; padding: 15px; margin: 15px 0; border-radius: 3px; }
+                    .label { font-weight: bold; color: #1f2937; }
+                    .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Application Reminder</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hi {{userName}},</p>
+                        <p>This is a reminder about your application:</p>
+                        <div class="info-box">
+                            <p><span class="label">Company:</span> {{company}}</p>
+                            <p><span class="label">Role:</span> {{role}}</p>
+                            <p><span class="label">Status:</span> {{status}}</p>
+                        </div>
+                        <div class="info-box">
+                            <p><span class="label">Reminder:</span> {{message}}</p>
+                            <p><span class="label">Due at:</span> {{dueAt}}</p>
+                        </div>
+                        <p>Good luck with your application!</p>
+                        <div class="footer">
+                            <p>&copy; 2024 AppTracker. All rights reserved.</p>
+                        </div>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """,
+            "userName", "company", "role", "status", "message", "dueAt");
+
     public ReminderService(ReminderRepository reminderRepository,
             ApplicationService applicationService,
-            ActivityRepository activityRepository, EmailService emailService, UserRepository userRepository,
-            ApplicationRepository applicationRepository) {
+            ActivityRepository activityRepository, EmailOutboxService emailOutboxService) {
         this.reminderRepository = reminderRepository;
         this.applicationService = applicationService;
         this.activityRepository = activityRepository;
-        this.emailService = emailService;
-        this.userRepository = userRepository;
-        this.applicationRepository = applicationRepository;
+        this.emailOutboxService = emailOutboxService;
     }
 
     @Transactional
     public Reminder createReminder(UUID userId, UUID appId, CreateReminderRequest request) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
 
         Reminder reminder = new Reminder();
         reminder.setApplicationId(appId);
@@ -63,7 +102,7 @@ public class ReminderService {
 
     public List<Reminder> getReminders(UUID userId, UUID appId) {
         // Verify ownership
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
         return reminderRepository.findByApplicationIdOrderByRemindAtAsc(appId);
     }
 
@@ -82,7 +121,7 @@ public class ReminderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reminder not found"));
 
         // Verify ownership through application
-        applicationService.getApplicationEntityById(userId, reminder.getApplicationId());
+        applicationService.verifyOwnership(userId, reminder.getApplicationId());
 
         reminder.setCompleted(true);
         return reminderRepository.save(reminder);
@@ -94,7 +133,7 @@ public class ReminderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reminder not found"));
 
         // Verify ownership through application
-        applicationService.getApplicationEntityById(userId, appId);
+        applicationService.verifyOwnership(userId, appId);
 
         reminderRepository.delete(reminder);
     }
@@ -104,6 +143,7 @@ public class ReminderService {
      * Only sends emails to users who have email notifications enabled
      */
     @Scheduled(cron = "0 0 * * * *")
+    @Transactional
     public void sendReminderNotifications() {
         logger.info("Checking for reminders to send");
 
@@ -111,11 +151,9 @@ public class ReminderService {
             OffsetDateTime now = OffsetDateTime.now();
             OffsetDateTime oneHourFromNow = now.plusHours(1);
 
-            // Get all incomplete reminders that are due within the next hour
-            List<Reminder> dueReminders = reminderRepository.findAll().stream()
-                    .filter(r -> !r.isCompleted())
-                    .filter(r -> r.getRemindAt().isAfter(now) && r.getRemindAt().isBefore(oneHourFromNow))
-                    .toList();
+            // Incomplete reminders due within the next hour, with their application and
+            // opted-in owner, in a single query over the partial remind_at index
+            List<Object[]> dueReminders = reminderRepository.findDueRemindersWithRecipients(now, oneHourFromNow);
 
             if (dueReminders.isEmpty()) {
                 logger.info("No reminders due within the next hour");
@@ -124,18 +162,11 @@ public class ReminderService {
 
             logger.info("Found {} reminders due within the next hour", dueReminders.size());
 
-            for (Reminder reminder : dueReminders) {
-                // Get the application for this reminder
-                applicationRepository.findById(reminder.getApplicationId()).ifPresent(application -> {
-                    // Get the user for this application
-                    userRepository.findById(application.getUserId()).ifPresent(user -> {
-                        if (user.isEmailNotifications()) {
-                            sendReminderEmail(user, reminder, application);
-                        } else {
-                            logger.debug("Skipping email for user {} - notifications disabled", user.getEmail());
-                        }
-                    });
-                });
+            for (Object[] row : dueReminders) {
+                Reminder reminder = (Reminder) row[0];
+                ApplicationEntity application = (ApplicationEntity) row[1];
+                User user = (User) row[2];
+                sendReminderEmail(user, reminder, application);
             }
 
         } catch (Exception e) {
@@ -144,70 +175,24 @@ public class ReminderService {
     }
 
     /**
-     * Sends reminder email to user about an upcoming application deadline
+     * Queues reminder email to user about an upcoming application deadline
      */
     private void sendReminderEmail(User user, Reminder reminder, ApplicationEntity application) {
-        try {
-            String emailBody = buildReminderEmail(user.getName(), application, reminder);
-            emailService.sendEmail(user.getEmail(),
-                    "Reminder: " + application.getCompany() + " - " + application.getRole(),
-                    emailBody);
+        String emailBody = buildReminderEmail(user.getName(), application, reminder);
+        emailOutboxService.enqueue(user.getEmail(),
+                "Reminder: " + application.getCompany() + " - " + application.getRole(),
+                emailBody);
 
-            logger.info("Reminder email sent successfully to {}", user.getEmail());
-
-        } catch (Exception e) {
-            logger.error("Failed to send reminder email to {}: {}", user.getEmail(), e.getMessage(), e);
-        }
+        logger.info("Reminder email queued for {}", user.getEmail());
     }
 
     private String buildReminderEmail(String userName, ApplicationEntity application, Reminder reminder) {
-        return String.format(
-                """
-                        <!DOCTYPE html>
-                        <html>
-                        <head>
-                            <meta charset="UTF-8">
-                            <style>
-                                body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                                .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                                .header { background-color: #2563eb; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
-                                .content { background-color: #f9fafb; padding: 20px; border-radius: 0 0 5px 5px; }
-                                .info-box { background-color: white; border-left: 4px solid #2563eb; padding: 15px; margin: 15px 0; border-radius: 3px; }
-                                .label { font-weight: bold; color: #1f2937; }
-                                .footer { margin-top: 30px; font-size: 12px; color: #666; text-align: center; }
-                            </style>
-                        </head>
-                        <body>
-                            <div class="container">
-                                <div class="header">
-                                    <h1>Application Reminder</h1>
-                                </div>
-                                <div class="content">
-                                    <p>Hi %s,</p>
-                                    <p>This is a reminder about your application:</p>
-                                    <div class="info-box">
-                                        <p><span class="label">Company:</span> %s</p>
-                                        <p><span class="label">Role:</span> %s</p>
-                                        <p><span class="label">Status:</span> %s</p>
-                                    </div>
-                                    <div class="info-box">
-                                        <p><span class="label">Reminder:</span> %s</p>
-                                        <p><span class="label">Due at:</span> %s</p>
-                                    </div>
-                                    <p>Good luck with your application!</p>
-                                    <div class="footer">
-                                        <p>&copy; 2024 AppTracker. All rights reserved.</p>
-                                    </div>
-                                </div>
-                            </div>
-                        </body>
-                        </html>
-                        """,
+        return REMINDER_EMAIL.render(
                 userName,
                 application.getCompany(),
                 application.getRole(),
                 application.getStatus(),
                 reminder.getMessage(),
-                reminder.getRemindAt().toString());
+                reminder.getRemindAt());
     }
 }
@@ -1,20 +1,29 @@
 package com.apptracker.service;
 
 import com.apptracker.dto.OpenJob;
-import com.apptracker.model.ApplicationEntity;
 import com.apptracker.model.User;
 import com.apptracker.repository.ApplicationRepository;
 import com.apptracker.repository.UserRepository;
+import com.apptracker.util.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -25,16 +34,57 @@ public class ScheduledTaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(ScheduledTaskService.class);
 
+    private static final Pattern MARKDOWN_LINK = Pattern.compile("\\[([^\\]]+)\\]\\(([^\\)]+)\\)");
+    private static final Pattern HTML_LINK = Pattern.compile("<a\\s+href=[\"']([^\"']+)[\"']");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern LOCATION_COUNT = Pattern.compile("\\d+\\s*locations");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** Arrow and emoji characters the README puts in the company column */
+    private static final int[] COMPANY_DECORATIONS = { '↳', 0x1F53D, '⬇', '➡', '⏩', 0xFE0F };
+
+    private static final Map<String, Integer> MONTHS = Map.ofEntries(
+            Map.entry("Jan", 1), Map.entry("Feb", 2), Map.entry("Mar", 3),
+            Map.entry("Apr", 4), Map.entry("May", 5), Map.entry("Jun", 6),
+            Map.entry("Jul", 7), Map.entry("Aug", 8), Map.entry("Sep", 9),
+            Map.entry("Oct", 10), Map.entry("Nov", 11), Map.entry("Dec", 12));
+
     private final ApplicationRepository applicationRepo;
     private final UserRepository userRepo;
+    private final ApplicationSearchIndex searchIndex;
+    private final Counter autoArchivedCounter;
+    private final HttpClient httpClient;
+
+    @Value("${app.open-jobs.readme-url:https://raw.githubusercontent.com/vanshb03/Summer2026-Internships/main/README.md}")
+    private String openJobsReadmeUrl;
+
+    @Value("${app.open-jobs.timeout-ms:30000}")
+    private long openJobsTimeoutMs;
+
+    private static final int AUTO_ARCHIVE_BATCH_SIZE = 500;
 
     // In-memory cache for open job postings from GitHub
     // Refreshed every 12 hours by the scheduled task
-    private List<OpenJob> cachedOpenJobs = new ArrayList<>();
+    private volatile List<OpenJob> cachedOpenJobs = new ArrayList<>();
+
+    // Validators of the README the cache was parsed from, for conditional GETs
+    private String readmeEtag;
+    private String readmeLastModified;
 
-    public ScheduledTaskService(ApplicationRepository applicationRepo, UserRepository userRepo) {
+    // Parsed postings by table row line from the last parse (null for rows that
+    // were skipped), and the month their dates were resolved in
+    private Map<String, OpenJob> parsedRows = Map.of();
+    private YearMonth parsedRowsMonth;
+
+    public ScheduledTaskService(ApplicationRepository applicationRepo, UserRepository userRepo,
+            ApplicationSearchIndex searchIndex, MeterRegistry meterRegistry, HttpClient httpClient) {
         this.applicationRepo = applicationRepo;
         this.userRepo = userRepo;
+        this.searchIndex = searchIndex;
+        this.httpClient = httpClient;
+        this.autoArchivedCounter = Counter.builder("apptracker.applications.auto_archived")
+                .description("Rejected applications archived by the nightly auto-archive job")
+                .register(meterRegistry);
     }
 
     /**
@@ -56,41 +106,26 @@ public class ScheduledTaskService {
      * for users who have enabled the auto-archive preference
      */
     @Scheduled(cron = "0 0 2 * * *")
-    @Transactional
     public void autoArchiveOldRejectedApplications() {
         logger.info("Running scheduled task: auto-archive old rejected applications");
 
         try {
-            // Get all users who have auto-archive enabled
-            List<User> usersWithAutoArchive = userRepo.findAll().stream()
-                    .filter(User::isAutoArchiveOldApps)
-                    .toList();
-
-            logger.info("Found {} users with auto-archive enabled", usersWithAutoArchive.size());
+            // Calculate the cutoff date (30 days ago)
+            OffsetDateTime cutoffDate = OffsetDateTime.now().minusDays(30);
 
+            // Archive in bounded batches, each in its own transaction, until a
+            // batch comes back short
             int totalArchived = 0;
-
-            for (User user : usersWithAutoArchive) {
-                // Calculate the cutoff date (30 days ago)
-                OffsetDateTime cutoffDate = OffsetDateTime.now().minusDays(30);
-
-                // Find all rejected, non-archived applications for this user that are older
-                // than 30 days
-                List<ApplicationEntity> applicationsToArchive = applicationRepo.findAll().stream()
-                        .filter(app -> app.getUserId().equals(user.getId()))
-                        .filter(app -> "REJECTED".equals(app.getStatus()))
-                        .filter(app -> !app.isArchived())
-                        .filter(app -> app.getUpdatedAt() != null && app.getUpdatedAt().isBefore(cutoffDate))
-                        .toList();
-
-                // Archive them
-                for (ApplicationEntity app : applicationsToArchive) {
-                    app.setArchived(true);
-                    applicationRepo.save(app);
-                    totalArchived++;
-                }
+            int archived;
+            do {
+                archived = applicationRepo.archiveRejectedOlderThan(cutoffDate, AUTO_ARCHIVE_BATCH_SIZE);
+                totalArchived += archived;
+            } while (archived == AUTO_ARCHIVE_BATCH_SIZE);
+
+            autoArchivedCounter.increment(totalArchived);
+            if (totalArchived > 0) {
+                searchIndex.invalidateAll();
             }
-
             logger.info("Auto-archive task completed. Archived {} applications", totalArchived);
 
         } catch (Exception e) {
@@ -100,20 +135,40 @@ public class ScheduledTaskService {
 
     /**
      * Scheduled to run every 12 hours (12 PM and 12 AM) to fetch new internship
-     * postings from GitHub
+     * postings from GitHub. The request is conditional on the ETag and
+     * Last-Modified of the last download, so an unchanged README costs a 304
+     * and no parsing.
      */
     @Scheduled(cron = "0 0 */12 * * *")
-    public void refreshOpenJobsCache() {
+    public synchronized void refreshOpenJobsCache() {
         logger.info("Starting scheduled task: refresh open internship applications cache from GitHub");
 
         try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(openJobsReadmeUrl))
+                    .timeout(Duration.ofMillis(openJobsTimeoutMs))
+                    .GET();
+            // Validators are only kept while the cache holds what they describe
+            if (readmeEtag != null) {
+                request.header("If-None-Match", readmeEtag);
+            }
+            if (readmeLastModified != null) {
+                request.header("If-Modified-Since", readmeLastModified);
+            }
 
-            String url = "https://raw.githubusercontent.com/vanshb03/Summer2026-Internships/main/README.md";
-            RestTemplate restTemplate = new RestTemplate();
+            logger.info("Fetching markdown from: {}", openJobsReadmeUrl);
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
 
-            logger.info("Fetching markdown from: {}", url);
-            String markdown = restTemplate.getForObject(url, String.class);
+            if (response.statusCode() == 304) {
+                logger.info("Markdown not modified since last fetch; keeping {} cached postings",
+                        cachedOpenJobs.size());
+                return;
+            }
+            if (response.statusCode() != 200) {
+                logger.warn("Unexpected status {} fetching markdown from GitHub", response.statusCode());
+                return;
+            }
 
+            String markdown = response.body();
             if (markdown == null || markdown.isEmpty()) {
                 logger.warn("No markdown content retrieved from GitHub");
                 return;
@@ -126,9 +181,14 @@ public class ScheduledTaskService {
             logger.info("Parsed {} total internship applications from GitHub", applications.size());
 
             this.cachedOpenJobs = applications;
+            this.readmeEtag = response.headers().firstValue("ETag").orElse(null);
+            this.readmeLastModified = response.headers().firstValue("Last-Modified").orElse(null);
 
             logger.info("Successfully updated job cache with {} postings", applications.size());
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while fetching open applications from GitHub", e);
         } catch (Exception e) {
             logger.error("Error fetching open applications from GitHub", e);
         }
@@ -166,15 +226,23 @@ public class ScheduledTaskService {
     }
 
     /**
-     * Parses a markdown table to extract internship application details
+     * Parses a markdown table to extract internship application details.
+     * Rows are reused from the previous parse when their line is unchanged,
+     * so an updated README only costs parsing its new and edited rows.
+     * Package-private for the README parsing benchmark.
      */
-    private List<OpenJob> parseMarkdownTable(String markdown) {
+    List<OpenJob> parseMarkdownTable(String markdown) {
         List<OpenJob> applications = new ArrayList<>();
 
         String[] lines = markdown.split("\n");
 
-        Pattern markdownLinkPattern = Pattern.compile("\\[([^\\]]+)\\]\\(([^\\)]+)\\)");
-        Pattern htmlLinkPattern = Pattern.compile("<a\\s+href=[\"']([^\"']+)[\"']");
+        // Dates in the table have no year; they are resolved against today, so
+        // rows parsed in an earlier month may resolve differently now
+        OffsetDateTime now = OffsetDateTime.now();
+        YearMonth month = YearMonth.from(now);
+        Map<String, OpenJob> previousRows = month.equals(parsedRowsMonth) ? parsedRows : Map.of();
+        Map<String, OpenJob> rows = new HashMap<>();
+        int reused = 0;
 
         for (String line : lines) {
             // Trim whitespace from the line
@@ -186,111 +254,117 @@ public class ScheduledTaskService {
             }
 
             if (line.startsWith("|") && !line.contains("---")) {
-                if (line.toLowerCase().contains("company") || line.toLowerCase().contains("role")) {
-                    continue;
+                OpenJob app;
+                if (previousRows.containsKey(line)) {
+                    app = previousRows.get(line);
+                    reused++;
+                } else if (rows.containsKey(line)) {
+                    app = rows.get(line);
+                } else {
+                    app = parseRow(line, now);
+                }
+                rows.put(line, app);
+                if (app != null) {
+                    applications.add(app);
                 }
+            }
+        }
 
-                String[] cells = line.split("\\|");
-
-                if (cells.length >= 6) {
-                    OpenJob app = new OpenJob();
-
-                    // Clean up company name - remove HTML tags, emojis, and arrows
-                    String companyName = cells[1].trim()
-                            .replaceAll("<[^>]*>", "") // Remove HTML tags
-                            .replaceAll("[↳🔽⬇️➡️⏩]", "") // Remove arrow/emoji characters
-                            .trim();
-                    app.setCompany(companyName);
-
-                    app.setRole(cells[2].trim());
-
-                    // Clean up location - handle multiple locations separated by <br> or other HTML
-                    String location = cells[3].trim()
-                            .replaceAll("(?i)<br\\s*/?>", ", ") // Replace <br> with comma (case-insensitive)
-                            .replaceAll("<[^>]*>", "") // Remove other HTML tags
-                            .replaceAll("\\s*,\\s*,\\s*", ", ") // Remove duplicate commas
-                            .replaceAll("^,\\s*|\\s*,$", "") // Remove leading/trailing commas
-                            .trim();
-                    app.setLocation(location);
-
-                    String linkCell = cells[4];
-                    String jobUrl = null;
-
-                    // First try to find HTML anchor tag
-                    Matcher htmlMatcher = htmlLinkPattern.matcher(linkCell);
-                    if (htmlMatcher.find()) {
-                        // group(1) contains the URL from href attribute
-                        jobUrl = htmlMatcher.group(1).trim();
-                    } else {
-                        // Try markdown link format
-                        Matcher markdownMatcher = markdownLinkPattern.matcher(linkCell);
-                        if (markdownMatcher.find()) {
-                            // group(2) contains the URL part
-                            jobUrl = markdownMatcher.group(2).trim();
-                        }
-                    }
+        parsedRows = rows;
+        parsedRowsMonth = month;
+        logger.info("Reused {} of {} table rows from the previous parse", reused, rows.size());
 
-                    if (jobUrl != null && !jobUrl.isEmpty()) {
-                        app.setJobUrl(jobUrl);
-                    }
+        return applications;
+    }
 
-                    String dateCell = cells[5].trim();
-                    try {
-                        String[] dateParts = dateCell.split("\\s+");
-
-                        if (dateParts.length >= 2) {
-                            Map<String, Integer> monthMap = Map.ofEntries(
-                                    Map.entry("Jan", 1), Map.entry("Feb", 2), Map.entry("Mar", 3),
-                                    Map.entry("Apr", 4), Map.entry("May", 5), Map.entry("Jun", 6),
-                                    Map.entry("Jul", 7), Map.entry("Aug", 8), Map.entry("Sep", 9),
-                                    Map.entry("Oct", 10), Map.entry("Nov", 11), Map.entry("Dec", 12));
-
-                            Integer month = monthMap.get(dateParts[0]);
-                            if (month != null) {
-                                int day = Integer.parseInt(dateParts[1]);
-
-                                int currentYear = OffsetDateTime.now().getYear();
-                                int currentMonth = OffsetDateTime.now().getMonthValue();
-
-                                int year;
-
-                                if (month > currentMonth) {
-                                    year = currentYear - 1;
-                                } else {
-                                    year = currentYear;
-                                }
-
-                                OffsetDateTime datePosted = OffsetDateTime.now()
-                                        .withYear(year)
-                                        .withMonth(month)
-                                        .withDayOfMonth(day)
-                                        .withHour(0).withMinute(0).withSecond(0).withNano(0);
-                                app.setDatePosted(datePosted);
-                            }
-                        }
-                    } catch (NumberFormatException | java.time.DateTimeException e) {
-                        logger.warn("Failed to parse date posted: {} - {}", dateCell, e.getMessage());
-                    }
+    /**
+     * Parses one table row, or returns null for header rows and rows without
+     * usable data
+     */
+    private OpenJob parseRow(String line, OffsetDateTime now) {
+        String lowerLine = line.toLowerCase();
+        if (lowerLine.contains("company") || lowerLine.contains("role")) {
+            return null;
+        }
+
+        String[] cells = line.split("\\|");
+        if (cells.length < 6) {
+            return null;
+        }
 
-                    // Only add if we have valid data
-                    // Skip entries with:
-                    // - Empty or very short company names (likely arrows/emojis)
-                    // - No URL
-                    // - Company names that are just special characters
-                    // - Locations with asterisks or other markdown artifacts
-                    // - Locations with excessive special characters
-                    if (app.getCompany() != null && app.getCompany().length() > 1
-                            && app.getRole() != null && app.getRole().length() > 2
-                            && app.getJobUrl() != null && !app.getJobUrl().isEmpty()
-                            && !app.getCompany().matches("[^a-zA-Z0-9\\s]+") // Reject if only special chars
-                            && (app.getLocation() == null || isValidLocation(app.getLocation()))) { // Validate location
-                        applications.add(app);
+        OpenJob app = new OpenJob();
+
+        // Clean up company name - remove HTML tags, emojis, and arrows
+        String companyName = TextNormalizer.removeCodePoints(
+                TextNormalizer.stripTags(cells[1].trim()), COMPANY_DECORATIONS);
+        app.setCompany(companyName);
+
+        app.setRole(cells[2].trim());
+
+        // Clean up location - handle multiple locations separated by <br> or other HTML
+        String location = TextNormalizer.htmlListToCommaSeparated(cells[3]);
+        app.setLocation(location);
+
+        String linkCell = cells[4];
+        String jobUrl = null;
+
+        // First try to find HTML anchor tag
+        Matcher htmlMatcher = HTML_LINK.matcher(linkCell);
+        if (htmlMatcher.find()) {
+            // group(1) contains the URL from href attribute
+            jobUrl = htmlMatcher.group(1).trim();
+        } else {
+            // Try markdown link format
+            Matcher markdownMatcher = MARKDOWN_LINK.matcher(linkCell);
+            if (markdownMatcher.find()) {
+                // group(2) contains the URL part
+                jobUrl = markdownMatcher.group(2).trim();
+            }
+        }
+
+        if (jobUrl != null && !jobUrl.isEmpty()) {
+            app.setJobUrl(jobUrl);
+        }
+
+        String dateCell = cells[5].trim();
+        try {
+            String[] dateParts = WHITESPACE.split(dateCell);
+
+            if (dateParts.length >= 2) {
+                Integer month = MONTHS.get(dateParts[0]);
+                if (month != null) {
+                    int day = Integer.parseInt(dateParts[1]);
+
+                    int year;
+
+                    if (month > now.getMonthValue()) {
+                        year = now.getYear() - 1;
+                    } else {
+                        year = now.getYear();
                     }
+
+                    OffsetDateTime datePosted = OffsetDateTime.of(year, month, day, 0, 0, 0, 0,
+                            now.getOffset());
+                    app.setDatePosted(datePosted);
                 }
             }
+        } catch (NumberFormatException | java.time.DateTimeException e) {
+            logger.warn("Failed to parse date posted: {} - {}", dateCell, e.getMessage());
         }
 
-        return applications;
+        // Only keep rows with valid data
+        // Skip entries with:
+        // - Empty or very short company names (likely arrows/emojis)
+        // - No URL
+        // - Company names that are just special characters
+        // - Locations with asterisks or other markdown artifacts
+        // - Locations with excessive special characters
+        boolean valid = app.getCompany() != null && app.getCompany().length() > 1
+                && app.getRole() != null && app.getRole().length() > 2
+                && app.getJobUrl() != null && !app.getJobUrl().isEmpty()
+                && hasWordCharacter(app.getCompany()) // Reject if only special chars
+                && (app.getLocation() == null || isValidLocation(app.getLocation())); // Validate location
+        return valid ? app : null;
     }
 
     /**
@@ -308,7 +382,7 @@ public class ScheduledTaskService {
         }
 
         // Reject if contains HTML tags that weren't cleaned
-        if (location.matches(".*<[^>]+>.*")) {
+        if (HTML_TAG.matcher(location).find()) {
             return false;
         }
 
@@ -323,11 +397,25 @@ public class ScheduledTaskService {
         }
 
         // Reject if it looks like a count followed by "locations" (e.g., "6 locations")
-        if (location.matches("^\\d+\\s*locations.*")) {
+        if (LOCATION_COUNT.matcher(location).lookingAt()) {
             return false;
         }
 
         return true;
     }
 
+    /**
+     * True if the text has an ASCII letter, digit or whitespace character
+     */
+    private static boolean hasWordCharacter(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || TextNormalizer.isWhitespace(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,62 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.PageFetcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Ashby postings (jobs.ashbyhq.com/{org}/{jobId}), read from the public job
+ * board API. That API lists the whole board, so the posting is picked by id.
+ */
+@Component
+public class AshbyExtractor extends JsonApiExtractor {
+
+    public AshbyExtractor(PageFetcher pageFetcher) {
+        super(pageFetcher);
+    }
+
+    @Override
+    public List<String> hosts() {
+        return List.of("ashbyhq.com");
+    }
+
+    @Override
+    public URI apiUri(URI pageUri) {
+        List<String> segments = pathSegments(pageUri);
+        if (segments.size() < 2
+                || !segments.get(0).matches("[A-Za-z0-9_.-]+")
+                || !segments.get(1).matches("[0-9a-fA-F-]{36}")) {
+            return null;
+        }
+        return URI.create("https://api.ashbyhq.com/posting-api/job-board/" + segments.get(0));
+    }
+
+    @Override
+    public ImportResponse parse(JsonNode json, URI pageUri) {
+        List<String> segments = pathSegments(pageUri);
+        String jobId = segments.get(1);
+
+        for (JsonNode job : json.path("jobs")) {
+            if (!jobId.equalsIgnoreCase(job.path("id").asText())) {
+                continue;
+            }
+            String title = text(job, "title");
+            if (title == null) {
+                return null;
+            }
+
+            ImportResponse response = new ImportResponse();
+            response.setRole(title);
+            response.setCompany(companyFromSlug(segments.get(0)));
+            response.setLocation(text(job, "location"));
+            response.setDescription(description(text(job, "descriptionPlain")));
+            response.setConfidence(95);
+            return response;
+        }
+        return null;
+    }
+}
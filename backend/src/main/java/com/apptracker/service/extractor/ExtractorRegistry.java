@@ -0,0 +1,30 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.util.HostSuffixTrie;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Picks the site-specific extractor for a posting URL by host suffix
+ */
+@Component
+public class ExtractorRegistry {
+
+    private final HostSuffixTrie<JobPageExtractor> extractorsByHost = new HostSuffixTrie<>();
+
+    public ExtractorRegistry(List<JobPageExtractor> extractors) {
+        for (JobPageExtractor extractor : extractors) {
+            for (String host : extractor.hosts()) {
+                extractorsByHost.put(host, extractor);
+            }
+        }
+    }
+
+    /**
+     * @return the extractor for this host, or null if the site has none
+     */
+    public JobPageExtractor find(String host) {
+        return extractorsByHost.find(host);
+    }
+}
@@ -0,0 +1,77 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.PageFetcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jsoup.parser.Parser;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Greenhouse postings (boards.greenhouse.io/{board}/jobs/{id} and
+ * job-boards.greenhouse.io), read from the public Job Board API
+ */
+@Component
+public class GreenhouseExtractor extends JsonApiExtractor {
+
+    public GreenhouseExtractor(PageFetcher pageFetcher) {
+        super(pageFetcher);
+    }
+
+    @Override
+    public List<String> hosts() {
+        return List.of("greenhouse.io");
+    }
+
+    @Override
+    public URI apiUri(URI pageUri) {
+        List<String> segments = pathSegments(pageUri);
+        String board = null;
+        String jobId = null;
+
+        if (segments.size() >= 3 && segments.get(1).equals("jobs")) {
+            board = segments.get(0);
+            jobId = segments.get(2);
+        } else if (pageUri.getRawQuery() != null) {
+            // Embedded boards: /embed/job_app?for={board}&token={id}
+            for (String param : pageUri.getRawQuery().split("&")) {
+                if (param.startsWith("for=")) {
+                    board = param.substring(4);
+                } else if (param.startsWith("token=")) {
+                    jobId = param.substring(6);
+                }
+            }
+        }
+
+        if (board == null || jobId == null || !board.matches("[A-Za-z0-9_-]+") || !jobId.matches("\\d+")) {
+            return null;
+        }
+        return URI.create("https://boards-api.greenhouse.io/v1/boards/" + board + "/jobs/" + jobId);
+    }
+
+    @Override
+    public ImportResponse parse(JsonNode json, URI pageUri) {
+        String title = text(json, "title");
+        if (title == null) {
+            return null;
+        }
+
+        ImportResponse response = new ImportResponse();
+        response.setRole(title);
+        String company = text(json, "company_name");
+        if (company == null) {
+            URI api = apiUri(pageUri);
+            company = companyFromSlug(pathSegments(api).get(2));
+        }
+        response.setCompany(company);
+        response.setLocation(text(json.path("location"), "name"));
+
+        // The API returns the description HTML entity-escaped
+        String content = text(json, "content");
+        response.setDescription(description(content == null ? null : Parser.unescapeEntities(content, false)));
+        response.setConfidence(95);
+        return response;
+    }
+}
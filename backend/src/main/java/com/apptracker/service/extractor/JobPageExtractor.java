@@ -0,0 +1,25 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Site-specific import for one applicant tracking system. Extractors are
+ * Spring beans picked up by {@link ExtractorRegistry} and chosen by host.
+ */
+public interface JobPageExtractor {
+
+    /**
+     * Host suffixes this extractor handles, e.g. "greenhouse.io"
+     */
+    List<String> hosts();
+
+    /**
+     * @return the posting's details, or null if the URL isn't a posting this
+     *         extractor understands (the generic page strategies are used then)
+     */
+    ImportResponse extract(URI uri) throws IOException;
+}
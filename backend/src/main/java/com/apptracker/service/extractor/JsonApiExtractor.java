@@ -0,0 +1,99 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.PageFetcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Base for job boards with a public JSON API. Subclasses only map the posting
+ * URL to the API URL and the API response to an ImportResponse; both are pure
+ * functions, so they can be exercised against recorded responses offline.
+ */
+public abstract class JsonApiExtractor implements JobPageExtractor {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 5000;
+
+    private final PageFetcher pageFetcher;
+
+    protected JsonApiExtractor(PageFetcher pageFetcher) {
+        this.pageFetcher = pageFetcher;
+    }
+
+    /**
+     * @return the API URL describing the posting at pageUri, or null if pageUri
+     *         isn't a posting URL
+     */
+    public abstract URI apiUri(URI pageUri);
+
+    /**
+     * @return the posting's details, or null if the response doesn't describe it
+     */
+    public abstract ImportResponse parse(JsonNode json, URI pageUri);
+
+    @Override
+    public ImportResponse extract(URI uri) throws IOException {
+        URI apiUri = apiUri(uri);
+        if (apiUri == null) {
+            return null;
+        }
+        return parse(pageFetcher.fetchJson(apiUri), uri);
+    }
+
+    protected static List<String> pathSegments(URI uri) {
+        List<String> segments = new ArrayList<>();
+        // Raw, so segments can be put back into an API URL unchanged
+        String path = uri.getRawPath();
+        if (path != null) {
+            for (String segment : path.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Text of a JSON field, or null if it is missing or blank
+     */
+    protected static String text(JsonNode node, String field) {
+        String value = node.path(field).asText(null);
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Best-effort company name from a board's URL slug, e.g. "acme-labs" gives
+     * "Acme Labs", for APIs that don't return the company
+     */
+    protected static String companyFromSlug(String slug) {
+        StringBuilder name = new StringBuilder(slug.length());
+        for (String word : slug.split("[-_]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (name.length() > 0) {
+                name.append(' ');
+            }
+            name.append(word.substring(0, 1).toUpperCase(Locale.ROOT)).append(word.substring(1));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Plain text of an HTML description, capped like the other import strategies
+     */
+    protected static String description(String html) {
+        if (html == null) {
+            return null;
+        }
+        String text = Jsoup.parse(html).text();
+        return text.length() > MAX_DESCRIPTION_LENGTH ? text.substring(0, MAX_DESCRIPTION_LENGTH) : text;
+    }
+}
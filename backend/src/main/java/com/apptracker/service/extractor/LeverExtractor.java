@@ -0,0 +1,55 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.PageFetcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Lever postings (jobs.lever.co/{company}/{postingId}), read from the public
+ * Postings API
+ */
+@Component
+public class LeverExtractor extends JsonApiExtractor {
+
+    public LeverExtractor(PageFetcher pageFetcher) {
+        super(pageFetcher);
+    }
+
+    @Override
+    public List<String> hosts() {
+        return List.of("lever.co");
+    }
+
+    @Override
+    public URI apiUri(URI pageUri) {
+        List<String> segments = pathSegments(pageUri);
+        if (segments.size() < 2
+                || !segments.get(0).matches("[A-Za-z0-9_.-]+")
+                || !segments.get(1).matches("[0-9a-fA-F-]{36}")) {
+            return null;
+        }
+        // EU-hosted accounts have their own API host
+        String apiHost = pageUri.getHost().startsWith("jobs.eu.") ? "api.eu.lever.co" : "api.lever.co";
+        return URI.create("https://" + apiHost + "/v0/postings/" + segments.get(0) + "/" + segments.get(1));
+    }
+
+    @Override
+    public ImportResponse parse(JsonNode json, URI pageUri) {
+        String title = text(json, "text");
+        if (title == null) {
+            return null;
+        }
+
+        ImportResponse response = new ImportResponse();
+        response.setRole(title);
+        response.setCompany(companyFromSlug(pathSegments(pageUri).get(0)));
+        response.setLocation(text(json.path("categories"), "location"));
+        response.setDescription(description(text(json, "descriptionPlain")));
+        response.setConfidence(95);
+        return response;
+    }
+}
@@ -0,0 +1,52 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.PageFetcher;
+import com.apptracker.service.PageIndex;
+import com.apptracker.service.PageIndex.Candidate;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * LinkedIn job views (linkedin.com/jobs/view/{id}). There is no public API, so
+ * the public job page is read, taking only its top card: the h1 title, the
+ * organisation link and the location bullet.
+ */
+@Component
+public class LinkedInExtractor extends PageExtractor {
+
+    public LinkedInExtractor(PageFetcher pageFetcher) {
+        super(pageFetcher);
+    }
+
+    @Override
+    public List<String> hosts() {
+        return List.of("linkedin.com");
+    }
+
+    @Override
+    public boolean handles(URI uri) {
+        String path = uri.getPath();
+        return path != null && path.startsWith("/jobs/view/");
+    }
+
+    @Override
+    public ImportResponse parse(PageIndex page, URI pageUri) {
+        String title = page.firstH1Text();
+        String company = page.candidateText(Candidate.TOPCARD_ORG_NAME);
+        if (title == null || title.isBlank() || company == null) {
+            // Login wall or a layout change; let the generic strategies try
+            return null;
+        }
+
+        ImportResponse response = new ImportResponse();
+        response.setRole(title.trim());
+        response.setCompany(company);
+        response.setLocation(page.candidateText(Candidate.TOPCARD_FLAVOR_BULLET));
+        response.setDescription(page.meta("og:description"));
+        response.setConfidence(80);
+        return response;
+    }
+}
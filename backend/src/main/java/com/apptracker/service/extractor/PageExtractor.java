@@ -0,0 +1,42 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.PageFetcher;
+import com.apptracker.service.PageIndex;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Base for job sites without a public API, read from the posting page itself.
+ * ImportService fetches the page once and, when parse() finds nothing (a
+ * login wall, a layout change), runs the generic strategies on the same
+ * PageIndex instead of fetching it again.
+ */
+public abstract class PageExtractor implements JobPageExtractor {
+
+    private final PageFetcher pageFetcher;
+
+    protected PageExtractor(PageFetcher pageFetcher) {
+        this.pageFetcher = pageFetcher;
+    }
+
+    /**
+     * @return true if uri is a posting page this extractor can read
+     */
+    public abstract boolean handles(URI uri);
+
+    /**
+     * @return the posting's details, or null if the page doesn't show them
+     */
+    public abstract ImportResponse parse(PageIndex page, URI pageUri);
+
+    @Override
+    public ImportResponse extract(URI uri) throws IOException {
+        if (!handles(uri)) {
+            return null;
+        }
+        // Extractors read elements from the body, so don't stop at the head's JSON-LD
+        return parse(pageFetcher.fetch(uri, false), uri);
+    }
+}
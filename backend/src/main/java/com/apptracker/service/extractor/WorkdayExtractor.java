@@ -0,0 +1,63 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.PageFetcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Workday postings ({tenant}.wd{n}.myworkdayjobs.com/[{locale}/]{site}/job/...),
+ * read from the JSON endpoint the Workday career site itself loads
+ */
+@Component
+public class WorkdayExtractor extends JsonApiExtractor {
+
+    public WorkdayExtractor(PageFetcher pageFetcher) {
+        super(pageFetcher);
+    }
+
+    @Override
+    public List<String> hosts() {
+        return List.of("myworkdayjobs.com");
+    }
+
+    @Override
+    public URI apiUri(URI pageUri) {
+        List<String> segments = pathSegments(pageUri);
+        int job = segments.indexOf("job");
+        if (job < 1 || job == segments.size() - 1) {
+            return null;
+        }
+
+        String host = pageUri.getHost();
+        String tenant = host.substring(0, host.indexOf('.'));
+        String site = segments.get(job - 1);
+        String jobPath = String.join("/", segments.subList(job, segments.size()));
+        return URI.create("https://" + host + "/wday/cxs/" + tenant + "/" + site + "/" + jobPath);
+    }
+
+    @Override
+    public ImportResponse parse(JsonNode json, URI pageUri) {
+        JsonNode posting = json.path("jobPostingInfo");
+        String title = text(posting, "title");
+        if (title == null) {
+            return null;
+        }
+
+        ImportResponse response = new ImportResponse();
+        response.setRole(title);
+        String company = text(json.path("hiringOrganization"), "name");
+        if (company == null) {
+            String host = pageUri.getHost();
+            company = companyFromSlug(host.substring(0, host.indexOf('.')));
+        }
+        response.setCompany(company);
+        response.setLocation(text(posting, "location"));
+        response.setDescription(description(text(posting, "jobDescription")));
+        response.setConfidence(95);
+        return response;
+    }
+}
@@ -38,6 +38,10 @@ public class AppLogger {
         LOGGER.warn(message, throwable);
     }
 
+    public static void warn(String message, Object... args) {
+        LOGGER.warn(message, args);
+    }
+
     public static void error(String message) {
         LOGGER.error(message);
     }
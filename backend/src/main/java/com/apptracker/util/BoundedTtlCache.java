@@ -0,0 +1,112 @@
+package com.apptracker.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe cache where every entry carries its own expiry time. Lookups
+ * are lock-free reads of a ConcurrentHashMap. Once maxEntries is exceeded, one
+ * writer drops expired entries and then the least recently used tenth of the
+ * cache (approximate LRU, by last access time to the millisecond); other
+ * writers don't wait for it, so the size can briefly overshoot. Expired
+ * entries are also dropped when they are looked up.
+ */
+public class BoundedTtlCache<K, V> {
+    private final int maxEntries;
+    private final int evictTo;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public BoundedTtlCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.evictTo = maxEntries - maxEntries / 10;
+    }
+
+    /**
+     * @return the cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expiresAtMillis <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        // At most one write per entry per millisecond, so hot keys read by many
+        // threads don't bounce the cache line on every hit
+        if (entry.lastAccessMillis != now) {
+            entry.lastAccessMillis = now;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, expiresAtMillis, System.currentTimeMillis()));
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+
+            int excess = entries.size() - evictTo;
+            if (excess <= 0) {
+                return;
+            }
+            // Snapshot access times so concurrent reads can't reorder the sort
+            List<Victim<K, V>> victims = new ArrayList<>(entries.size());
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                victims.add(new Victim<>(e.getKey(), e.getValue(), e.getValue().lastAccessMillis));
+            }
+            victims.sort(Comparator.comparingLong(Victim::lastAccessMillis));
+            for (int i = 0; i < excess && i < victims.size(); i++) {
+                entries.remove(victims.get(i).key(), victims.get(i).entry());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+        private volatile long lastAccessMillis;
+
+        Entry(V value, long expiresAtMillis, long lastAccessMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    private record Victim<K, V>(K key, Entry<V> entry, long lastAccessMillis) {
+    }
+}
@@ -0,0 +1,205 @@
+package com.apptracker.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.text.ParsePosition;
+
+/**
+ * Parses the date formats people put in spreadsheets: ISO date-times with or
+ * without offset, yyyy-MM-dd, M/d/yyyy and d/M/yyyy. Parsing does not use
+ * exceptions for control flow: the shape of the text picks the format, and
+ * each format returns null if the text doesn't fit it.
+ *
+ * Slash dates like 05/06/2024 are ambiguous on their own. An instance reads
+ * them day-first or month-first according to the first unambiguous slash date
+ * (one with a number over 12) it has seen, through observe() or parse(), and
+ * month-first until then. Feed a file's dates to observe() before parsing its
+ * rows so every row is read the same way. ISO date-times separately remember
+ * whether the last one had an offset. Use one instance per file; not
+ * thread-safe.
+ */
+public final class FlexibleDateParser {
+
+    private enum SlashOrder {
+        MONTH_FIRST,
+        DAY_FIRST
+    }
+
+    private SlashOrder slashOrder;
+    private boolean preferLocalDateTime;
+
+    /**
+     * Settles day-first vs month-first from the value if it is an unambiguous
+     * slash date and the order isn't settled yet
+     *
+     * @return true once the order is settled
+     */
+    public boolean observe(String text) {
+        if (slashOrder == null && text != null) {
+            slashOrder = unambiguousOrder(text.trim());
+        }
+        return slashOrder != null;
+    }
+
+    /**
+     * @return the parsed date (dates without an offset are taken as UTC), or
+     *         null if no format matches
+     */
+    public OffsetDateTime parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.trim();
+
+        if (value.indexOf('/') >= 0) {
+            observe(value);
+            boolean dayFirst = slashOrder == SlashOrder.DAY_FIRST;
+            LocalDate date = parseSlashDate(value, dayFirst);
+            // Values that only fit the other order (13/05 in a month-first file)
+            return startOfDay(date != null ? date : parseSlashDate(value, !dayFirst));
+        }
+        if (value.length() == 10) {
+            return startOfDay(parseIsoDate(value));
+        }
+        OffsetDateTime simple = parseSimpleLocalDateTime(value);
+        if (simple != null) {
+            return simple;
+        }
+
+        DateTimeFormatter first = preferLocalDateTime
+                ? DateTimeFormatter.ISO_LOCAL_DATE_TIME
+                : DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+        OffsetDateTime parsed = parseIsoDateTime(value, first);
+        if (parsed == null) {
+            DateTimeFormatter second = preferLocalDateTime
+                    ? DateTimeFormatter.ISO_OFFSET_DATE_TIME
+                    : DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+            parsed = parseIsoDateTime(value, second);
+            if (parsed != null) {
+                preferLocalDateTime = !preferLocalDateTime;
+            }
+        }
+        return parsed;
+    }
+
+    private static OffsetDateTime parseIsoDateTime(String value, DateTimeFormatter formatter) {
+        if (value.length() < 16 || value.charAt(10) != 'T') {
+            return null;
+        }
+        // parseUnresolved reports syntax errors through the position instead of throwing
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor unresolved = formatter.parseUnresolved(value, position);
+        if (unresolved == null || position.getErrorIndex() >= 0 || position.getIndex() != value.length()) {
+            return null;
+        }
+        try {
+            // Well-formed at this point; only out-of-range fields (month 13) can still fail
+            return formatter == DateTimeFormatter.ISO_OFFSET_DATE_TIME
+                    ? OffsetDateTime.parse(value, formatter)
+                    : LocalDateTime.parse(value, formatter).atOffset(ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm or yyyy-MM-ddTHH:mm:ss without an offset, the shapes
+     * spreadsheets export; other date-times go through the ISO formatters
+     */
+    private static OffsetDateTime parseSimpleLocalDateTime(String value) {
+        int length = value.length();
+        if ((length != 16 && length != 19) || value.charAt(10) != 'T' || value.charAt(13) != ':'
+                || (length == 19 && value.charAt(16) != ':')) {
+            return null;
+        }
+        LocalDate date = parseIsoDate(value, 0);
+        int hour = digits(value, 11, 13);
+        int minute = digits(value, 14, 16);
+        int second = length == 19 ? digits(value, 17, 19) : 0;
+        if (date == null || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return date.atTime(hour, minute, second).atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * yyyy-MM-dd
+     */
+    private static LocalDate parseIsoDate(String value) {
+        return value.length() == 10 ? parseIsoDate(value, 0) : null;
+    }
+
+    /**
+     * yyyy-MM-dd at value[from, from + 10)
+     */
+    private static LocalDate parseIsoDate(String value, int from) {
+        if (value.charAt(from + 4) != '-' || value.charAt(from + 7) != '-') {
+            return null;
+        }
+        return toDate(digits(value, from, from + 4), digits(value, from + 5, from + 7),
+                digits(value, from + 8, from + 10));
+    }
+
+    /**
+     * M/d/yyyy or d/M/yyyy, with one- or two-digit day and month
+     */
+    private static LocalDate parseSlashDate(String value, boolean dayFirst) {
+        int first = value.indexOf('/');
+        int second = first < 0 ? -1 : value.indexOf('/', first + 1);
+        if (first < 1 || first > 2 || second - first < 2 || second - first > 3 || value.length() - second != 5) {
+            return null;
+        }
+        int a = digits(value, 0, first);
+        int b = digits(value, first + 1, second);
+        int year = digits(value, second + 1, value.length());
+        return dayFirst ? toDate(year, b, a) : toDate(year, a, b);
+    }
+
+    /**
+     * The order a slash date must be read in, or null if it reads as a valid
+     * date either way (05/06/2024, 05/05/2024) or in neither
+     */
+    private static SlashOrder unambiguousOrder(String value) {
+        boolean monthFirst = parseSlashDate(value, false) != null;
+        boolean dayFirst = parseSlashDate(value, true) != null;
+        if (monthFirst == dayFirst) {
+            return null;
+        }
+        return monthFirst ? SlashOrder.MONTH_FIRST : SlashOrder.DAY_FIRST;
+    }
+
+    /**
+     * Parses value[from, to) as a non-negative number, or -1 if it has a non-digit
+     */
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+        if (day > firstOfMonth.lengthOfMonth()) {
+            return null;
+        }
+        return firstOfMonth.withDayOfMonth(day);
+    }
+
+    private static OffsetDateTime startOfDay(LocalDate date) {
+        return date == null ? null : date.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,55 @@
+package com.apptracker.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps host suffixes such as "greenhouse.io" to values. A lookup walks the
+ * host's labels from the top-level domain down, so "boards.greenhouse.io" and
+ * "greenhouse.io" both match "greenhouse.io" while "notgreenhouse.io" does
+ * not; the longest registered suffix wins. Build once, then read-only.
+ */
+public class HostSuffixTrie<V> {
+
+    private static final class Node<V> {
+        private final Map<String, Node<V>> children = new HashMap<>(4);
+        private V value;
+    }
+
+    private final Node<V> root = new Node<>();
+
+    public void put(String hostSuffix, V value) {
+        String[] labels = hostSuffix.toLowerCase(Locale.ROOT).split("\\.");
+        Node<V> node = root;
+        for (int i = labels.length - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(labels[i], label -> new Node<>());
+        }
+        node.value = value;
+    }
+
+    /**
+     * @return the value of the longest registered suffix of host, or null
+     */
+    public V find(String host) {
+        if (host == null) {
+            return null;
+        }
+        String lower = host.toLowerCase(Locale.ROOT);
+        Node<V> node = root;
+        V match = null;
+        int end = lower.length();
+        while (end > 0) {
+            int start = lower.lastIndexOf('.', end - 1) + 1;
+            node = node.children.get(lower.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+            end = start - 1;
+        }
+        return match;
+    }
+}
@@ -0,0 +1,101 @@
+package com.apptracker.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precompiled HTML template with {{name}} slots.
+ * The source is split into literal and slot segments once, and rendering
+ * appends the HTML-escaped values into a per-thread reused buffer.
+ * Usage: HtmlTemplate.compile(source, "name", "url").render(name, url)
+ */
+public final class HtmlTemplate {
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+
+    // literals[i] is followed by the value of parameter slots[i]; the last
+    // literal has no slot after it
+    private final String[] literals;
+    private final int[] slots;
+    private final int parameterCount;
+
+    private HtmlTemplate(String[] literals, int[] slots, int parameterCount) {
+        this.literals = literals;
+        this.slots = slots;
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * Compiles a template. Every {{slot}} must be one of the declared parameter
+     * names; render() takes the values in the same order.
+     */
+    public static HtmlTemplate compile(String source, String... parameterNames) {
+        List<String> names = Arrays.asList(parameterNames);
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot at offset " + open);
+            }
+
+            String name = source.substring(open + 2, close).trim();
+            int index = names.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Undeclared template slot: " + name);
+            }
+
+            literals.add(source.substring(position, open));
+            slots.add(index);
+            position = close + 2;
+        }
+        literals.add(source.substring(position));
+
+        return new HtmlTemplate(literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                parameterNames.length);
+    }
+
+    /**
+     * Renders the template with values given in parameter order. Values are
+     * converted with String.valueOf and HTML-escaped; null renders as empty.
+     */
+    public String render(Object... values) {
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException(
+                    "Expected " + parameterCount + " template values but got " + values.length);
+        }
+
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            Object value = values[slots[i]];
+            if (value != null) {
+                appendEscaped(out, value.toString());
+            }
+        }
+        out.append(literals[literals.length - 1]);
+        return out.toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.apptracker.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Whitespace and markup clean-up for text scraped from job pages and the
+ * internship README. The hot paths are single-pass character scanners; the
+ * remaining patterns are compiled once here instead of on every call.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern BR_TAG = Pattern.compile("(?i)<br\\s*/?>");
+    private static final Pattern REPEATED_COMMAS = Pattern.compile("\\s*,\\s*,\\s*");
+    private static final Pattern EDGE_COMMA = Pattern.compile("^,\\s*|\\s*,$");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Collapses whitespace runs to one space and trims. With
+     * dropParentheticals, every "(...)" group and the whitespace around it is
+     * replaced by a single space; an unclosed "(" is kept as text.
+     */
+    public static String collapseWhitespace(String text, boolean dropParentheticals) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (c == '(' && dropParentheticals) {
+                int close = text.indexOf(')', i + 1);
+                if (close >= 0) {
+                    i = close;
+                    pendingSpace = true;
+                    continue;
+                }
+            }
+            if (pendingSpace && out.length() > 0) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Removes every "<...>" tag; an unclosed "<" is kept as text
+     */
+    public static String stripTags(String text) {
+        int open = text.indexOf('<');
+        if (open < 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        int from = 0;
+        while (open >= 0) {
+            int close = text.indexOf('>', open + 1);
+            if (close < 0) {
+                break;
+            }
+            out.append(text, from, open);
+            from = close + 1;
+            open = text.indexOf('<', from);
+        }
+        return out.append(text, from, text.length()).toString();
+    }
+
+    /**
+     * Removes the given code points (e.g. decorative arrows and emoji) and trims
+     */
+    public static String removeCodePoints(String text, int... codePoints) {
+        StringBuilder out = new StringBuilder(text.length());
+        int length = text.length();
+        for (int i = 0; i < length;) {
+            int codePoint = text.codePointAt(i);
+            if (!contains(codePoints, codePoint)) {
+                out.appendCodePoint(codePoint);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return out.toString().trim();
+    }
+
+    /**
+     * Turns an HTML list cell ("A<br>B<br/>C") into "A, B, C": line breaks
+     * become commas, other tags are dropped, and empty or edge commas removed
+     */
+    public static String htmlListToCommaSeparated(String text) {
+        String result = text.trim();
+        if (result.indexOf('<') >= 0) {
+            result = stripTags(BR_TAG.matcher(result).replaceAll(", "));
+        }
+        if (result.indexOf(',') >= 0) {
+            result = REPEATED_COMMAS.matcher(result).replaceAll(", ");
+            result = EDGE_COMMA.matcher(result).replaceAll("");
+        }
+        return result.trim();
+    }
+
+    /**
+     * Same characters as the regex class \s
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package com.apptracker.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Canonical form of a job posting URL, so the same posting shared through
+ * different channels maps to one cache key
+ */
+public final class UrlNormalizer {
+
+    /** Query parameters that only track where a click came from */
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "gclid", "fbclid", "msclkid", "mc_cid", "mc_eid", "igshid", "ref", "referrer", "source",
+            "src", "gh_src", "lever-source", "lever-origin", "trk", "trkinfo", "trackingid", "refid");
+
+    private UrlNormalizer() {
+    }
+
+    /**
+     * Lower-cases scheme and host, drops default ports, fragments, utm_* and
+     * other tracking parameters, and sorts the remaining parameters
+     *
+     * @return the normalized URL, or the input unchanged if it can't be parsed
+     */
+    public static String normalize(String url) {
+        try {
+            URI uri = new URI(url.trim());
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return url;
+            }
+
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+                port = -1;
+            }
+
+            StringBuilder normalized = new StringBuilder(url.length())
+                    .append(scheme).append("://").append(uri.getHost().toLowerCase(Locale.ROOT));
+            if (port != -1) {
+                normalized.append(':').append(port);
+            }
+            String path = uri.getRawPath();
+            normalized.append(path == null || path.isEmpty() ? "/" : path);
+
+            String query = uri.getRawQuery();
+            if (query != null && !query.isEmpty()) {
+                List<String> kept = new ArrayList<>();
+                for (String param : query.split("&")) {
+                    if (param.isEmpty()) {
+                        continue;
+                    }
+                    int equals = param.indexOf('=');
+                    String name = (equals < 0 ? param : param.substring(0, equals)).toLowerCase(Locale.ROOT);
+                    if (!name.startsWith("utm_") && !TRACKING_PARAMS.contains(name)) {
+                        kept.add(param);
+                    }
+                }
+                if (!kept.isEmpty()) {
+                    kept.sort(null);
+                    normalized.append('?').append(String.join("&", kept));
+                }
+            }
+            return normalized.toString();
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+}
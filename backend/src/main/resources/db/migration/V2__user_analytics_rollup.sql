@@ -0,0 +1,23 @@
+-- Per-user analytics rollup, maintained incrementally by ApplicationService
+-- STATUS rows are keyed by status name, WEEK rows by the ISO week's Monday (UTC, yyyy-MM-dd)
+CREATE TABLE user_analytics_rollup (
+  user_id uuid NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  bucket_type VARCHAR(20) NOT NULL,
+  bucket_key VARCHAR(50) NOT NULL,
+  app_count bigint NOT NULL DEFAULT 0,
+  PRIMARY KEY (user_id, bucket_type, bucket_key)
+);
+
+COMMENT ON TABLE user_analytics_rollup IS 'Per-user application counts by status and by ISO week of date_applied';
+
+-- Backfill from existing applications
+INSERT INTO user_analytics_rollup (user_id, bucket_type, bucket_key, app_count)
+SELECT user_id, 'STATUS', status, COUNT(*)
+FROM applications
+GROUP BY user_id, status;
+
+INSERT INTO user_analytics_rollup (user_id, bucket_type, bucket_key, app_count)
+SELECT user_id, 'WEEK', to_char(date_trunc('week', date_applied AT TIME ZONE 'UTC'), 'YYYY-MM-DD'), COUNT(*)
+FROM applications
+WHERE date_applied IS NOT NULL
+GROUP BY 1, 3;
@@ -0,0 +1,3 @@
+-- Supports the nightly auto-archive job: only rejected, not yet archived rows are indexed
+CREATE INDEX idx_applications_rejected_unarchived ON applications(updated_at)
+  WHERE status = 'REJECTED' AND archived = false;
@@ -0,0 +1,2 @@
+-- Supports the hourly reminder dispatch: only incomplete reminders are indexed
+CREATE INDEX idx_reminders_due ON reminders(remind_at) WHERE completed = false;
@@ -0,0 +1,17 @@
+-- Transactional email outbox: rows are inserted in the same transaction as the
+-- change that triggers the email and delivered by EmailOutboxService
+CREATE TABLE email_outbox (
+  id uuid PRIMARY KEY DEFAULT gen_random_uuid(),
+  recipient text NOT NULL,
+  subject text NOT NULL,
+  html_body text NOT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts integer NOT NULL DEFAULT 0,
+  next_attempt_at timestamptz NOT NULL DEFAULT NOW(),
+  last_error text,
+  created_at timestamptz NOT NULL DEFAULT NOW(),
+  sent_at timestamptz
+);
+
+CREATE INDEX idx_email_outbox_pending ON email_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_email_outbox_sent_at ON email_outbox(sent_at) WHERE status = 'SENT';
@@ -0,0 +1,2 @@
+-- Serves cursor (keyset) paging of GET /api/apps: newest first, id as tiebreaker
+CREATE INDEX idx_applications_user_archived_created ON applications(user_id, archived, created_at DESC, id);
@@ -0,0 +1,29 @@
+-- Full-text search over applications, notes and contacts.
+-- The 'simple' configuration skips stemming and stop words, which suits company
+-- names and job titles and keeps prefix matching predictable.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE applications ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+  setweight(to_tsvector('simple', coalesce(company, '')), 'A') ||
+  setweight(to_tsvector('simple', coalesce(role, '')), 'A') ||
+  setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_applications_search_vector ON applications USING gin(search_vector);
+
+ALTER TABLE notes ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+  to_tsvector('simple', coalesce(content, ''))
+) STORED;
+
+CREATE INDEX idx_notes_search_vector ON notes USING gin(search_vector);
+
+ALTER TABLE contacts ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+  to_tsvector('simple', coalesce(name, ''))
+) STORED;
+
+CREATE INDEX idx_contacts_search_vector ON contacts USING gin(search_vector);
+
+-- Trigram indexes serve substring matches (lower(col) LIKE '%q%') that word
+-- prefixes cannot, e.g. "soft" inside "Microsoft"
+CREATE INDEX idx_applications_company_trgm ON applications USING gin(lower(company) gin_trgm_ops);
+CREATE INDEX idx_applications_role_trgm ON applications USING gin(lower(role) gin_trgm_ops);
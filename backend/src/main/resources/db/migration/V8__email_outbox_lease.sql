@@ -0,0 +1,5 @@
+-- Messages being delivered are marked SENDING with a lease; rows whose lease
+-- ran out (the sending instance died) are claimed again by EmailOutboxService
+ALTER TABLE email_outbox ADD COLUMN lease_expires_at timestamptz;
+
+CREATE INDEX idx_email_outbox_sending_lease ON email_outbox(lease_expires_at) WHERE status = 'SENDING';
@@ -0,0 +1,4 @@
+-- Keyset paging orders and compares (created_at DESC, id DESC); with id
+-- ascending, rows sharing a timestamp couldn't be read as one range scan
+DROP INDEX IF EXISTS idx_applications_user_archived_created;
+CREATE INDEX idx_applications_user_archived_created ON applications(user_id, archived, created_at DESC, id DESC);
@@ -0,0 +1,220 @@
+package com.apptracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EmailService delivering to a minimal in-process SMTP server
+ */
+class EmailServiceTest {
+
+    private SmtpStub smtp;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStub(Set.of("bounce@example.com"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtp.releaseFirstConnection.countDown();
+        if (emailService != null) {
+            emailService.stop();
+        }
+        smtp.close();
+    }
+
+    @Test
+    void queuedEmailsGoOutInOneBatchOverOneConnection() throws Exception {
+        emailService = newEmailService(10, 10);
+
+        // Hold the worker on the first connection while the rest queue up behind it
+        CompletableFuture<Void> first = emailService.sendEmailAsync("first@example.com", "Hello", "<p>1</p>");
+        assertThat(smtp.firstConnection.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Void>> queued = List.of(
+                emailService.sendEmailAsync("a@example.com", "Hello", "<p>a</p>"),
+                emailService.sendEmailAsync("b@example.com", "Hello", "<p>b</p>"),
+                emailService.sendEmailAsync("c@example.com", "Hello", "<p>c</p>"));
+        smtp.releaseFirstConnection.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(queued.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertThat(smtp.messagesPerConnection()).containsExactly(1, 3);
+        assertThat(meterRegistry.get("apptracker.mail.sent").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("apptracker.mail.failed").counter().count()).isZero();
+    }
+
+    @Test
+    void fullQueueRejectsAtOnce() throws Exception {
+        emailService = newEmailService(1, 10);
+
+        CompletableFuture<Void> sending = emailService.sendEmailAsync("first@example.com", "Hello", "<p>1</p>");
+        assertThat(smtp.firstConnection.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> queued = emailService.sendEmailAsync("a@example.com", "Hello", "<p>a</p>");
+        CompletableFuture<Void> rejected = emailService.sendEmailAsync("b@example.com", "Hello", "<p>b</p>");
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        smtp.releaseFirstConnection.countDown();
+        sending.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("apptracker.mail.sent").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void refusedRecipientFailsOnlyItsEmail() throws Exception {
+        smtp.releaseFirstConnection.countDown();
+        emailService = newEmailService(10, 10);
+
+        CompletableFuture<Void> delivered = emailService.sendEmailAsync("a@example.com", "Hello", "<p>a</p>");
+        CompletableFuture<Void> bounced = emailService.sendEmailAsync("bounce@example.com", "Hello", "<p>b</p>");
+        CompletableFuture<Void> alsoDelivered = emailService.sendEmailAsync("c@example.com", "Hello", "<p>c</p>");
+
+        delivered.get(5, TimeUnit.SECONDS);
+        alsoDelivered.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> bounced.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(MailSendException.class);
+
+        assertThat(meterRegistry.get("apptracker.mail.sent").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("apptracker.mail.failed").counter().count()).isEqualTo(1);
+    }
+
+    private EmailService newEmailService(int queueCapacity, int batchSize) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(smtp.host());
+        mailSender.setPort(smtp.port());
+
+        EmailService service = new EmailService(mailSender, meterRegistry);
+        ReflectionTestUtils.setField(service, "supportEmail", "support@example.com");
+        ReflectionTestUtils.setField(service, "workerCount", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "batchSize", batchSize);
+        service.start();
+        return service;
+    }
+
+    /**
+     * Accepts one SMTP connection at a time and counts the messages delivered
+     * over each. Refuses the given recipients, and holds the greeting of the
+     * first connection until released.
+     */
+    private static final class SmtpStub implements AutoCloseable {
+        final CountDownLatch firstConnection = new CountDownLatch(1);
+        final CountDownLatch releaseFirstConnection = new CountDownLatch(1);
+
+        private final ServerSocket serverSocket;
+        private final Set<String> refusedRecipients;
+        private final List<AtomicInteger> connections = new CopyOnWriteArrayList<>();
+
+        SmtpStub(Set<String> refusedRecipients) throws IOException {
+            this.refusedRecipients = refusedRecipients;
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::acceptConnections, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        String host() {
+            return serverSocket.getInetAddress().getHostAddress();
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        List<Integer> messagesPerConnection() {
+            return connections.stream().map(AtomicInteger::get).toList();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+
+        private void acceptConnections() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    AtomicInteger messages = new AtomicInteger();
+                    connections.add(messages);
+                    if (connections.size() == 1) {
+                        firstConnection.countDown();
+                        releaseFirstConnection.await(10, TimeUnit.SECONDS);
+                    }
+                    converse(socket, messages);
+                } catch (SocketException e) {
+                    return;
+                } catch (IOException e) {
+                    // Client hung up; wait for the next connection
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void converse(Socket socket, AtomicInteger messages) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+            reply(out, "220 smtp-stub ready");
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("RCPT TO:")) {
+                    String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    reply(out, refusedRecipients.contains(recipient) ? "550 No such user" : "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // Message content isn't checked
+                    }
+                    messages.incrementAndGet();
+                    reply(out, "250 Queued");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // EHLO, MAIL FROM, RSET and NOOP
+                    reply(out, "250 OK");
+                }
+            }
+        }
+
+        private static void reply(Writer out, String response) throws IOException {
+            out.write(response + "\r\n");
+            out.flush();
+        }
+    }
+}
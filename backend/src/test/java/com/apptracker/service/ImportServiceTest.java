@@ -0,0 +1,136 @@
+package com.apptracker.service;
+
+import com.apptracker.dto.ImportResponse;
+import com.apptracker.service.extractor.ExtractorRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch imports against a local stub server
+ */
+class ImportServiceTest {
+
+    private HttpServer server;
+    private PageFetcher pageFetcher;
+    private ImportService importService;
+    private final CountDownLatch releaseStall = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        // The first URL answers last, so completion order differs from request order
+        servePosting("/slow", "Backend Engineer - Slowco", 300);
+        servePosting("/medium", "Data Analyst - Midco", 100);
+        servePosting("/fast", "Product Designer - Fastco", 0);
+        server.createContext("/stall", exchange -> {
+            try {
+                releaseStall.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+
+        pageFetcher = new PageFetcher(HttpClient.newHttpClient(), new ObjectMapper());
+        ReflectionTestUtils.setField(pageFetcher, "maxConcurrent", 16);
+        ReflectionTestUtils.setField(pageFetcher, "maxPerHost", 4);
+        ReflectionTestUtils.setField(pageFetcher, "timeoutMs", 5_000L);
+        ReflectionTestUtils.setField(pageFetcher, "bodyTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(pageFetcher, "maxBodyBytes", 1_048_576);
+        ReflectionTestUtils.setField(pageFetcher, "maxJsonBytes", 1_048_576);
+        pageFetcher.init();
+
+        importService = new ImportService(pageFetcher, new SimpleMeterRegistry(), new ObjectMapper(),
+                new ExtractorRegistry(List.of())) {
+            @Override
+            boolean isPublicHost(String host) {
+                // The stub server is on the loopback address
+                return true;
+            }
+        };
+        ReflectionTestUtils.setField(importService, "workerCount", 4);
+        ReflectionTestUtils.setField(importService, "queueCapacity", 25);
+        ReflectionTestUtils.setField(importService, "batchTimeoutMs", 2_000L);
+        ReflectionTestUtils.setField(importService, "cacheMaxEntries", 100);
+        ReflectionTestUtils.setField(importService, "cacheTtlMinutes", 60L);
+        ReflectionTestUtils.setField(importService, "negativeCacheTtlMinutes", 5L);
+        importService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseStall.countDown();
+        importService.stop();
+        pageFetcher.stop();
+        server.stop(0);
+    }
+
+    @Test
+    void batchResultsKeepRequestOrder() {
+        List<String> urls = List.of(url("/slow"), "ftp://example.com/job", url("/medium"), url("/fast"));
+
+        List<ImportResponse> results = importService.importApplications(UUID.randomUUID(), urls);
+
+        assertThat(results).extracting(ImportResponse::getJobUrl).containsExactlyElementsOf(urls);
+        assertThat(results).extracting(ImportResponse::getCompany)
+                .containsExactly("Slowco", null, "Midco", "Fastco");
+        assertThat(results.get(1).getWarnings()).containsExactly("Invalid or unsafe URL");
+    }
+
+    @Test
+    void batchReturnsTimeoutWarningForUrlsPastTheDeadline() {
+        ReflectionTestUtils.setField(importService, "batchTimeoutMs", 500L);
+        List<String> urls = List.of(url("/fast"), url("/stall"));
+
+        long start = System.nanoTime();
+        List<ImportResponse> results = importService.importApplications(UUID.randomUUID(), urls);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        assertThat(results.get(0).getCompany()).isEqualTo("Fastco");
+        assertThat(results.get(1).getJobUrl()).isEqualTo(url("/stall"));
+        assertThat(results.get(1).getWarnings()).containsExactly("Timed out fetching this page. Please try again.");
+    }
+
+    private void servePosting(String path, String title, long delayMs) {
+        byte[] body = ("<html><head><title>" + title + "</title></head><body><h1>" + title + "</h1></body></html>")
+                .getBytes(StandardCharsets.UTF_8);
+        server.createContext(path, exchange -> {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,182 @@
+package com.apptracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PageFetcher against a local stub server
+ */
+class PageFetcherTest {
+
+    private HttpServer server;
+    private PageFetcher fetcher;
+    private final CountDownLatch stalledRequest = new CountDownLatch(1);
+    private final CountDownLatch releaseStall = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        // Sends the headers and the start of a page, then stalls until released
+        server.createContext("/stall", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write("<html><head><title>Stalled".getBytes(StandardCharsets.UTF_8));
+                body.flush();
+                stalledRequest.countDown();
+                releaseStall.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException ignored) {
+                // The client gave up on the body
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        releaseStall.countDown();
+        if (fetcher != null) {
+            fetcher.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void perHostLimitRejectsFetchWhenAllSlotsAreTaken() throws Exception {
+        fetcher = newFetcher(16, 1, 10_000, 1_048_576);
+
+        CompletableFuture<PageIndex> stalled = fetchInBackground("127.0.0.1", "/stall");
+        assertThat(stalledRequest.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> fetcher.fetch(uri("127.0.0.1", "/stall")))
+                .isInstanceOf(PageFetcher.BusyException.class);
+
+        releaseStall.countDown();
+        assertThat(stalled.get(5, TimeUnit.SECONDS).title()).isEqualTo("Stalled");
+    }
+
+    @Test
+    void globalLimitRejectsFetchToAnotherHost() throws Exception {
+        fetcher = newFetcher(1, 4, 10_000, 1_048_576);
+
+        CompletableFuture<PageIndex> stalled = fetchInBackground("127.0.0.1", "/stall");
+        assertThat(stalledRequest.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> fetcher.fetch(uri("localhost", "/stall")))
+                .isInstanceOf(PageFetcher.BusyException.class);
+
+        releaseStall.countDown();
+        stalled.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void stalledBodyTimesOut() {
+        fetcher = newFetcher(16, 4, 300, 1_048_576);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> fetcher.fetch(uri("127.0.0.1", "/stall")))
+                .isInstanceOf(HttpTimeoutException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+    }
+
+    @Test
+    void bodyIsCutOffAtSizeLimit() throws Exception {
+        String filler = "<p>" + "x".repeat(4096) + "</p>";
+        serve("/large", "text/html; charset=utf-8", ("<html><head><title>Large page</title></head><body>"
+                + filler + "<h1>Past the limit</h1></body></html>").getBytes(StandardCharsets.UTF_8));
+        fetcher = newFetcher(16, 4, 10_000, 2048);
+
+        PageIndex page = fetcher.fetch(uri("127.0.0.1", "/large"), false);
+
+        assertThat(page.title()).isEqualTo("Large page");
+        assertThat(page.firstH1Text()).isNull();
+    }
+
+    @Test
+    void metaCharsetDecidesWhenHeaderHasNone() throws Exception {
+        serve("/latin", "text/html", ("<html><head><meta charset=\"windows-1252\">"
+                + "<title>Caf\u00e9 \u2013 Barista</title></head><body></body></html>")
+                .getBytes(Charset.forName("windows-1252")));
+        fetcher = newFetcher(16, 4, 10_000, 1_048_576);
+
+        PageIndex page = fetcher.fetch(uri("127.0.0.1", "/latin"));
+
+        assertThat(page.title()).isEqualTo("Caf\u00e9 \u2013 Barista");
+    }
+
+    @Test
+    void headerCharsetWinsOverMetaTag() throws Exception {
+        serve("/declared", "text/html; charset=ISO-8859-1", ("<html><head><meta charset=\"utf-8\">"
+                + "<title>Fa\u00e7ade</title></head><body></body></html>")
+                .getBytes(StandardCharsets.ISO_8859_1));
+        fetcher = newFetcher(16, 4, 10_000, 1_048_576);
+
+        PageIndex page = fetcher.fetch(uri("127.0.0.1", "/declared"));
+
+        assertThat(page.title()).isEqualTo("Fa\u00e7ade");
+    }
+
+    private PageFetcher newFetcher(int maxConcurrent, int maxPerHost, long bodyTimeoutMs, int maxBodyBytes) {
+        PageFetcher pageFetcher = new PageFetcher(HttpClient.newHttpClient(), new ObjectMapper());
+        ReflectionTestUtils.setField(pageFetcher, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(pageFetcher, "maxPerHost", maxPerHost);
+        // Also how long a fetch waits for a free slot
+        ReflectionTestUtils.setField(pageFetcher, "timeoutMs", 200L);
+        ReflectionTestUtils.setField(pageFetcher, "bodyTimeoutMs", bodyTimeoutMs);
+        ReflectionTestUtils.setField(pageFetcher, "maxBodyBytes", maxBodyBytes);
+        ReflectionTestUtils.setField(pageFetcher, "maxJsonBytes", maxBodyBytes);
+        pageFetcher.init();
+        return pageFetcher;
+    }
+
+    private CompletableFuture<PageIndex> fetchInBackground(String host, String path) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetcher.fetch(uri(host, path));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void serve(String path, String contentType, byte[] body) {
+        server.createContext(path, exchange -> respond(exchange, contentType, body));
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private URI uri(String host, String path) {
+        return URI.create("http://" + host + ":" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,156 @@
+package com.apptracker.service;
+
+import com.apptracker.dto.OpenJob;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open jobs cache refreshes against a local stub of the README host
+ */
+class ScheduledTaskServiceTest {
+
+    private static final String HEADER = "| Company | Role | Location | Application | Date Posted |\n"
+            + "| ------- | ---- | -------- | ----------- | ----------- |\n";
+    private static final String ACME = "| Acme | Software Engineer Intern | New York, NY "
+            + "| <a href=\"https://jobs.example.com/acme/1\">Apply</a> | Jan 05 |\n";
+    private static final String GLOBEX = "| Globex | Data Science Intern | Remote "
+            + "| <a href=\"https://jobs.example.com/globex/2\">Apply</a> | Jan 06 |\n";
+    private static final String GLOBEX_EDITED = "| Globex | Data Science Intern | Austin, TX "
+            + "| <a href=\"https://jobs.example.com/globex/2\">Apply</a> | Jan 06 |\n";
+    private static final String INITECH = "| Initech | Backend Engineer Intern | Dallas, TX "
+            + "| <a href=\"https://jobs.example.com/initech/3\">Apply</a> | Jan 07 |\n";
+
+    private HttpServer server;
+    private ScheduledTaskService service;
+    private final AtomicInteger parses = new AtomicInteger();
+
+    // What the stub serves, and the conditional headers of the last request
+    private volatile int status;
+    private volatile String readme;
+    private volatile String etag;
+    private volatile String lastModified;
+    private volatile Headers lastRequest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/README.md", exchange -> {
+            lastRequest = exchange.getRequestHeaders();
+            if (status == 200 && etag != null && etag.equals(lastRequest.getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            if (etag != null) {
+                exchange.getResponseHeaders().set("ETag", etag);
+            }
+            if (lastModified != null) {
+                exchange.getResponseHeaders().set("Last-Modified", lastModified);
+            }
+            byte[] body = readme.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        service = new ScheduledTaskService(null, null, null, new SimpleMeterRegistry(), HttpClient.newHttpClient()) {
+            @Override
+            List<OpenJob> parseMarkdownTable(String markdown) {
+                parses.incrementAndGet();
+                return super.parseMarkdownTable(markdown);
+            }
+        };
+        ReflectionTestUtils.setField(service, "openJobsReadmeUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/README.md");
+        ReflectionTestUtils.setField(service, "openJobsTimeoutMs", 5_000L);
+
+        serve(200, HEADER + ACME + GLOBEX, "\"v1\"", "Mon, 05 Jan 2026 10:00:00 GMT");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void firstFetchStoresValidators() {
+        service.refreshOpenJobsCache();
+
+        assertThat(service.getCachedOpenJobs()).extracting(OpenJob::getCompany).containsExactly("Acme", "Globex");
+        assertThat(ReflectionTestUtils.getField(service, "readmeEtag")).isEqualTo("\"v1\"");
+        assertThat(ReflectionTestUtils.getField(service, "readmeLastModified"))
+                .isEqualTo("Mon, 05 Jan 2026 10:00:00 GMT");
+        assertThat(lastRequest.containsKey("If-None-Match")).isFalse();
+        assertThat(lastRequest.containsKey("If-Modified-Since")).isFalse();
+    }
+
+    @Test
+    void unchangedReadmeIsNotParsedAgain() {
+        service.refreshOpenJobsCache();
+        List<OpenJob> cached = service.getCachedOpenJobs();
+
+        service.refreshOpenJobsCache();
+
+        assertThat(lastRequest.getFirst("If-None-Match")).isEqualTo("\"v1\"");
+        assertThat(lastRequest.getFirst("If-Modified-Since")).isEqualTo("Mon, 05 Jan 2026 10:00:00 GMT");
+        assertThat(parses).hasValue(1);
+        assertThat(service.getCachedOpenJobs()).containsExactlyElementsOf(cached);
+    }
+
+    @Test
+    void changedReadmeReusesUnchangedRows() {
+        service.refreshOpenJobsCache();
+        List<OpenJob> before = service.getCachedOpenJobs();
+
+        serve(200, HEADER + ACME + GLOBEX_EDITED + INITECH, "\"v2\"", "Tue, 06 Jan 2026 10:00:00 GMT");
+        service.refreshOpenJobsCache();
+        List<OpenJob> after = service.getCachedOpenJobs();
+
+        assertThat(parses).hasValue(2);
+        assertThat(after).extracting(OpenJob::getCompany).containsExactly("Acme", "Globex", "Initech");
+        assertThat(after.get(0)).isSameAs(before.get(0));
+        assertThat(after.get(1)).isNotSameAs(before.get(1));
+        assertThat(after.get(1).getLocation()).isEqualTo("Austin, TX");
+        assertThat(ReflectionTestUtils.getField(service, "readmeEtag")).isEqualTo("\"v2\"");
+    }
+
+    @Test
+    void failedFetchKeepsCacheAndValidators() {
+        service.refreshOpenJobsCache();
+        List<OpenJob> cached = service.getCachedOpenJobs();
+
+        serve(503, "Service Unavailable", "\"error\"", "Wed, 07 Jan 2026 10:00:00 GMT");
+        service.refreshOpenJobsCache();
+
+        assertThat(parses).hasValue(1);
+        assertThat(service.getCachedOpenJobs()).containsExactlyElementsOf(cached);
+        assertThat(ReflectionTestUtils.getField(service, "readmeEtag")).isEqualTo("\"v1\"");
+        assertThat(ReflectionTestUtils.getField(service, "readmeLastModified"))
+                .isEqualTo("Mon, 05 Jan 2026 10:00:00 GMT");
+    }
+
+    private void serve(int status, String readme, String etag, String lastModified) {
+        this.status = status;
+        this.readme = readme;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+}
@@ -0,0 +1,45 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AshbyExtractorTest {
+
+    private static final URI PAGE =
+            URI.create("https://jobs.ashbyhq.com/tailspin-toys/1f2e3d4c-5b6a-4978-8a9b-0c1d2e3f4a5b");
+
+    private final AshbyExtractor extractor = new AshbyExtractor(null);
+
+    @Test
+    void apiUriIsTheBoardListing() {
+        assertThat(extractor.apiUri(PAGE))
+                .isEqualTo(URI.create("https://api.ashbyhq.com/posting-api/job-board/tailspin-toys"));
+    }
+
+    @Test
+    void apiUriIsNullForNonPostingPages() {
+        assertThat(extractor.apiUri(URI.create("https://jobs.ashbyhq.com/tailspin-toys"))).isNull();
+    }
+
+    @Test
+    void picksThePostingFromTheBoard() {
+        ImportResponse response = extractor.parse(ExtractorFixtures.json("ashby-job-board.json"), PAGE);
+
+        assertThat(response.getRole()).isEqualTo("Machine Learning Intern");
+        assertThat(response.getCompany()).isEqualTo("Tailspin Toys");
+        assertThat(response.getLocation()).isEqualTo("Austin, TX");
+        assertThat(response.getDescription()).isEqualTo("Train and evaluate ranking models.");
+        assertThat(response.getConfidence()).isEqualTo(95);
+    }
+
+    @Test
+    void parseIsNullWhenThePostingIsNotListed() {
+        URI closed = URI.create("https://jobs.ashbyhq.com/tailspin-toys/00000000-0000-4000-8000-000000000000");
+
+        assertThat(extractor.parse(ExtractorFixtures.json("ashby-job-board.json"), closed)).isNull();
+    }
+}
@@ -0,0 +1,46 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.service.PageIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recorded responses under src/test/resources/extractor
+ */
+final class ExtractorFixtures {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ExtractorFixtures() {
+    }
+
+    static JsonNode json(String name) {
+        try (InputStream in = open(name)) {
+            return OBJECT_MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static PageIndex page(String name, String baseUri) {
+        try {
+            return PageIndex.parse(new InputStreamReader(open(name), StandardCharsets.UTF_8), baseUri, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream open(String name) {
+        InputStream in = ExtractorFixtures.class.getResourceAsStream("/extractor/" + name);
+        if (in == null) {
+            throw new IllegalArgumentException("Missing fixture: " + name);
+        }
+        return in;
+    }
+}
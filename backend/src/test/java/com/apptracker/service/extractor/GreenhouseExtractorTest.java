@@ -0,0 +1,67 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GreenhouseExtractorTest {
+
+    private static final URI PAGE = URI.create("https://boards.greenhouse.io/northwindlabs/jobs/4812345007");
+
+    private final GreenhouseExtractor extractor = new GreenhouseExtractor(null);
+
+    @Test
+    void apiUriForBoardPage() {
+        assertThat(extractor.apiUri(PAGE))
+                .isEqualTo(URI.create("https://boards-api.greenhouse.io/v1/boards/northwindlabs/jobs/4812345007"));
+        assertThat(extractor.apiUri(URI.create("https://job-boards.greenhouse.io/northwindlabs/jobs/4812345007?gh_src=x")))
+                .isEqualTo(URI.create("https://boards-api.greenhouse.io/v1/boards/northwindlabs/jobs/4812345007"));
+    }
+
+    @Test
+    void apiUriForEmbeddedBoard() {
+        URI embedded = URI.create("https://boards.greenhouse.io/embed/job_app?for=northwindlabs&token=4812345007");
+        assertThat(extractor.apiUri(embedded))
+                .isEqualTo(URI.create("https://boards-api.greenhouse.io/v1/boards/northwindlabs/jobs/4812345007"));
+    }
+
+    @Test
+    void apiUriIsNullForNonPostingPages() {
+        assertThat(extractor.apiUri(URI.create("https://boards.greenhouse.io/northwindlabs"))).isNull();
+        assertThat(extractor.apiUri(URI.create("https://boards.greenhouse.io/northwindlabs/jobs/latest"))).isNull();
+    }
+
+    @Test
+    void parsesRecordedResponse() {
+        ImportResponse response = extractor.parse(ExtractorFixtures.json("greenhouse-job.json"), PAGE);
+
+        assertThat(response.getRole()).isEqualTo("Software Engineering Intern, Summer 2026");
+        assertThat(response.getCompany()).isEqualTo("Northwind Labs");
+        assertThat(response.getLocation()).isEqualTo("San Francisco, CA");
+        assertThat(response.getDescription())
+                .startsWith("About the role You will build internal tools used by our support & operations teams.")
+                .doesNotContain("<", "&amp;");
+        assertThat(response.getConfidence()).isEqualTo(95);
+    }
+
+    @Test
+    void companyFallsBackToBoardSlug() {
+        JsonNode json = ExtractorFixtures.json("greenhouse-job.json");
+        ((ObjectNode) json).remove("company_name");
+
+        assertThat(extractor.parse(json, PAGE).getCompany()).isEqualTo("Northwindlabs");
+    }
+
+    @Test
+    void parseIsNullWithoutTitle() {
+        JsonNode json = ExtractorFixtures.json("greenhouse-job.json");
+        ((ObjectNode) json).remove("title");
+
+        assertThat(extractor.parse(json, PAGE)).isNull();
+    }
+}
@@ -0,0 +1,48 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeverExtractorTest {
+
+    private static final URI PAGE = URI.create("https://jobs.lever.co/fabrikam/0b1c2d3e-4f50-4a6b-8c7d-9e0f1a2b3c4d");
+
+    private final LeverExtractor extractor = new LeverExtractor(null);
+
+    @Test
+    void apiUriForPostingPage() {
+        assertThat(extractor.apiUri(PAGE))
+                .isEqualTo(URI.create("https://api.lever.co/v0/postings/fabrikam/0b1c2d3e-4f50-4a6b-8c7d-9e0f1a2b3c4d"));
+        assertThat(extractor.apiUri(URI.create(PAGE + "/apply")))
+                .isEqualTo(URI.create("https://api.lever.co/v0/postings/fabrikam/0b1c2d3e-4f50-4a6b-8c7d-9e0f1a2b3c4d"));
+    }
+
+    @Test
+    void apiUriForEuAccount() {
+        URI page = URI.create("https://jobs.eu.lever.co/fabrikam/0b1c2d3e-4f50-4a6b-8c7d-9e0f1a2b3c4d");
+        assertThat(extractor.apiUri(page))
+                .isEqualTo(URI.create("https://api.eu.lever.co/v0/postings/fabrikam/0b1c2d3e-4f50-4a6b-8c7d-9e0f1a2b3c4d"));
+    }
+
+    @Test
+    void apiUriIsNullForNonPostingPages() {
+        assertThat(extractor.apiUri(URI.create("https://jobs.lever.co/fabrikam"))).isNull();
+        assertThat(extractor.apiUri(URI.create("https://jobs.lever.co/fabrikam/not-a-posting-id"))).isNull();
+    }
+
+    @Test
+    void parsesRecordedResponse() {
+        ImportResponse response = extractor.parse(ExtractorFixtures.json("lever-posting.json"), PAGE);
+
+        assertThat(response.getRole()).isEqualTo("Backend Engineering Intern");
+        assertThat(response.getCompany()).isEqualTo("Fabrikam");
+        assertThat(response.getLocation()).isEqualTo("New York, NY");
+        assertThat(response.getDescription())
+                .startsWith("About Fabrikam We build payments infrastructure for small businesses.");
+        assertThat(response.getConfidence()).isEqualTo(95);
+    }
+}
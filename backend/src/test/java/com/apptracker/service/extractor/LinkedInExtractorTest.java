@@ -0,0 +1,38 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkedInExtractorTest {
+
+    private static final URI PAGE = URI.create("https://www.linkedin.com/jobs/view/4012345678");
+
+    private final LinkedInExtractor extractor = new LinkedInExtractor(null);
+
+    @Test
+    void handlesJobViews() {
+        assertThat(extractor.handles(PAGE)).isTrue();
+        assertThat(extractor.handles(URI.create("https://www.linkedin.com/company/tailspin-toys"))).isFalse();
+    }
+
+    @Test
+    void readsTheTopCard() {
+        ImportResponse response = extractor.parse(ExtractorFixtures.page("linkedin-job.html", PAGE.toString()), PAGE);
+
+        assertThat(response.getRole()).isEqualTo("Machine Learning Intern");
+        assertThat(response.getCompany()).isEqualTo("Tailspin Toys");
+        assertThat(response.getLocation()).isEqualTo("Austin, TX");
+        assertThat(response.getDescription()).startsWith("Posted 3:14:15 PM.");
+        assertThat(response.getConfidence()).isEqualTo(80);
+    }
+
+    @Test
+    void parseIsNullOnTheLoginWall() {
+        assertThat(extractor.parse(ExtractorFixtures.page("linkedin-login-wall.html", PAGE.toString()), PAGE))
+                .isNull();
+    }
+}
@@ -0,0 +1,58 @@
+package com.apptracker.service.extractor;
+
+import com.apptracker.dto.ImportResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkdayExtractorTest {
+
+    private static final URI PAGE = URI.create(
+            "https://contoso.wd5.myworkdayjobs.com/en-US/External/job/Seattle-Washington/Data-Engineering-Intern_R-104521");
+
+    private final WorkdayExtractor extractor = new WorkdayExtractor(null);
+
+    @Test
+    void apiUriSkipsTheLocaleSegment() {
+        assertThat(extractor.apiUri(PAGE)).isEqualTo(URI.create(
+                "https://contoso.wd5.myworkdayjobs.com/wday/cxs/contoso/External/job/Seattle-Washington/Data-Engineering-Intern_R-104521"));
+    }
+
+    @Test
+    void apiUriWithoutLocale() {
+        URI page = URI.create("https://contoso.wd5.myworkdayjobs.com/External/job/Seattle-Washington/Data-Engineering-Intern_R-104521");
+        assertThat(extractor.apiUri(page)).isEqualTo(URI.create(
+                "https://contoso.wd5.myworkdayjobs.com/wday/cxs/contoso/External/job/Seattle-Washington/Data-Engineering-Intern_R-104521"));
+    }
+
+    @Test
+    void apiUriIsNullForNonPostingPages() {
+        assertThat(extractor.apiUri(URI.create("https://contoso.wd5.myworkdayjobs.com/en-US/External"))).isNull();
+        assertThat(extractor.apiUri(URI.create("https://contoso.wd5.myworkdayjobs.com/en-US/External/job"))).isNull();
+    }
+
+    @Test
+    void parsesRecordedResponse() {
+        ImportResponse response = extractor.parse(ExtractorFixtures.json("workday-job.json"), PAGE);
+
+        assertThat(response.getRole()).isEqualTo("Data Engineering Intern");
+        assertThat(response.getCompany()).isEqualTo("Contoso Ltd.");
+        assertThat(response.getLocation()).isEqualTo("Seattle, Washington");
+        assertThat(response.getDescription())
+                .startsWith("Job Description Build the pipelines behind our supply chain dashboards.")
+                .doesNotContain("<");
+        assertThat(response.getConfidence()).isEqualTo(95);
+    }
+
+    @Test
+    void companyFallsBackToTenant() {
+        JsonNode json = ExtractorFixtures.json("workday-job.json");
+        ((ObjectNode) json).remove("hiringOrganization");
+
+        assertThat(extractor.parse(json, PAGE).getCompany()).isEqualTo("Contoso");
+    }
+}
@@ -113,6 +113,15 @@ export interface Activity {
   createdAt: string;
 }
 
+export interface ApplicationDetail {
+  application: Application;
+  notes: Note[];
+  contacts: Contact[];
+  reminders: Reminder[];
+  attachments: Attachment[];
+  activity: Activity[];
+}
+
 export interface Analytics {
   statusCounts: Record<string, number>;
   appsPerWeek: Record<string, number>;
@@ -176,6 +185,7 @@ export const applicationsApi = {
     to?: string;
     page?: number;
     size?: number;
+    instant?: boolean;
   }) =>
     api.get<{
       content: Application[];
@@ -187,6 +197,8 @@ export const applicationsApi = {
 
   getById: (id: string) => api.get<Application>(`/apps/${id}`),
 
+  getFull: (id: string) => api.get<ApplicationDetail>(`/apps/${id}/full`),
+
   update: (id: string, data: Partial<Application>) =>
     api.put<Application>(`/apps/${id}`, data),
 
@@ -54,16 +54,21 @@ export default function ApplicationDetail() {
   const [applicationToDelete, setApplicationToDelete] =
     useState<Application | null>(null);
 
-  // Fetch application
+  // Fetch application with all related data in one request and seed the tab caches
   const { data: application, isLoading } = useQuery({
     queryKey: ["application", id],
     queryFn: async () => {
-      const response = await api.get(`/apps/${id}`);
-      return response.data;
+      const { data } = await applicationsApi.getFull(id!);
+      queryClient.setQueryData(["notes", id], data.notes);
+      queryClient.setQueryData(["contacts", id], data.contacts);
+      queryClient.setQueryData(["reminders", id], data.reminders);
+      queryClient.setQueryData(["attachments", id], data.attachments);
+      queryClient.setQueryData(["activities", id], data.activity);
+      return data.application;
     },
   });
 
-  // Fetch related data
+  // Related data, already seeded above; refetched once stale or after mutations
   const { data: notes = [] } = useQuery({
     queryKey: ["notes", id],
     queryFn: async () => {
@@ -71,6 +76,7 @@ export default function ApplicationDetail() {
       return response.data;
     },
     enabled: activeTab === "notes",
+    staleTime: 30_000,
   });
 
   const { data: contacts = [] } = useQuery({
@@ -80,6 +86,7 @@ export default function ApplicationDetail() {
       return response.data;
     },
     enabled: activeTab === "contacts",
+    staleTime: 30_000,
   });
 
   const { data: reminders = [] } = useQuery({
@@ -89,6 +96,7 @@ export default function ApplicationDetail() {
       return response.data;
     },
     enabled: activeTab === "reminders",
+    staleTime: 30_000,
   });
 
   const { data: attachments = [] } = useQuery({
@@ -98,6 +106,7 @@ export default function ApplicationDetail() {
       return response.data;
     },
     enabled: activeTab === "attachments",
+    staleTime: 30_000,
   });
 
   const { data: activities = [] } = useQuery({
@@ -107,6 +116,7 @@ export default function ApplicationDetail() {
       return response.data;
     },
     enabled: activeTab === "activity",
+    staleTime: 30_000,
   });
 
   // Update mutation
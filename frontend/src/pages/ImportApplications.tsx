@@ -15,15 +15,24 @@ interface ImportResult {
   successCount: number;
   errorCount: number;
   totalProcessed: number;
-  applications: any[];
   errors: Array<{ rowNumber: number; message: string }>;
 }
 
+interface ImportJobStatus extends ImportResult {
+  jobId: string;
+  state: "QUEUED" | "RUNNING" | "COMPLETED" | "FAILED";
+  done: boolean;
+}
+
+const MAX_FILE_SIZE_MB = 50;
+const POLL_INTERVAL_MS = 1000;
+
 export default function ImportApplications() {
   const [file, setFile] = useState<File | null>(null);
   const [importing, setImporting] = useState(false);
   const [result, setResult] = useState<ImportResult | null>(null);
   const [error, setError] = useState<string | null>(null);
+  const [progress, setProgress] = useState<number | null>(null);
   const navigate = useNavigate();
 
   const handleFileChange = (e: React.ChangeEvent<HTMLInputElement>) => {
@@ -34,8 +43,8 @@ export default function ImportApplications() {
         setFile(null);
         return;
       }
-      if (selectedFile.size > 5 * 1024 * 1024) {
-        setError("File size must be less than 5MB");
+      if (selectedFile.size > MAX_FILE_SIZE_MB * 1024 * 1024) {
+        setError(`File size must be less than ${MAX_FILE_SIZE_MB}MB`);
         setFile(null);
         return;
       }
@@ -56,16 +65,37 @@ export default function ImportApplications() {
     formData.append("file", file);
 
     try {
-      const response = await api.post("/applications/import/csv", formData, {
-        headers: {
-          "Content-Type": "multipart/form-data",
-        },
-      });
+      const response = await api.post<ImportJobStatus>(
+        "/applications/import/csv/jobs",
+        formData,
+        {
+          headers: {
+            "Content-Type": "multipart/form-data",
+          },
+        }
+      );
+
+      // Poll the background job until it finishes
+      let status = response.data;
+      while (!status.done) {
+        setProgress(status.totalProcessed);
+        await new Promise((resolve) => setTimeout(resolve, POLL_INTERVAL_MS));
+        status = (
+          await api.get<ImportJobStatus>(
+            `/applications/import/csv/jobs/${status.jobId}`
+          )
+        ).data;
+      }
 
-      setResult(response.data);
+      setResult(status);
     } catch (err: any) {
       if (err.response?.data?.error) {
         setError(err.response.data.error);
+      } else if (err.response?.status === 429) {
+        setError(
+          err.response.data?.message ??
+            "Too many imports in progress. Please try again later."
+        );
       } else if (err.response?.data) {
         setResult(err.response.data);
       } else {
@@ -73,6 +103,7 @@ export default function ImportApplications() {
       }
     } finally {
       setImporting(false);
+      setProgress(null);
     }
   };
 
@@ -208,7 +239,7 @@ Amazon,Data Scientist,Remote,2024-01-25,REJECTED,LOW,https://amazon.jobs/en/jobs
                     )}
                   </p>
                   <p className="text-xs text-gray-500 mt-1">
-                    CSV file (max 5MB)
+                    CSV file (max {MAX_FILE_SIZE_MB}MB)
                   </p>
                 </div>
                 <input
@@ -248,7 +279,11 @@ Amazon,Data Scientist,Remote,2024-01-25,REJECTED,LOW,https://amazon.jobs/en/jobs
               disabled={!file || importing}
               className="w-full px-4 py-3 bg-blue-600 text-white rounded-md hover:bg-blue-700 disabled:opacity-50 disabled:cursor-not-allowed transition-colors font-medium cursor-pointer"
             >
-              {importing ? "Importing..." : "Import Applications"}
+              {importing
+                ? progress
+                  ? `Importing... ${progress} rows processed`
+                  : "Importing..."
+                : "Import Applications"}
             </button>
           </div>
         </div>